@@ -0,0 +1,67 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as done by the login and the JWT filter: {@code issue} is
+ * {@link JwtService#generateToken}, {@code verifySignature} is the parse a token costs the first
+ * time it is seen, and {@code verifyCached} / {@code username} are every later request with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    // Same key and lifetime as application.properties
+    private static final String SECRET = "mySecretKey123456789012345678901234567890";
+    private static final long EXPIRATION = 900_000;
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION, 10_000);
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).build();
+        token = jwtService.generateToken("bench-user");
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtService.generateToken("bench-user");
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String username() {
+        return jwtService.getUsername(token);
+    }
+}
@@ -0,0 +1,67 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.service.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request cost of {@link RateLimiter#tryAcquire} with 32 threads calling at once (more with
+ * {@code -t}). {@code keys=1} is every thread on one user's bucket, the worst case for its
+ * compare-and-set; larger counts spread callers the way distinct users and addresses do.
+ * {@code allowed} never runs a bucket dry, {@code rejected} always finds it empty.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(32)
+public class RateLimiterBenchmark {
+
+    @Param({ "1", "1000", "100000" })
+    public int keys;
+
+    private RateLimiter allowing;
+    private RateLimiter rejecting;
+    private Long[] keyObjects;
+
+    @Setup
+    public void setUp() {
+        // One token a nanosecond is more than any number of threads can take
+        allowing = new RateLimiter(1_000_000_000L, Duration.ofNanos(1), 1_000_000);
+        rejecting = new RateLimiter(1, Duration.ofDays(1), 1_000_000);
+        keyObjects = new Long[keys];
+        for (int i = 0; i < keys; i++) {
+            keyObjects[i] = (long) i;
+            rejecting.tryAcquire(keyObjects[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().threadId());
+    }
+
+    @Benchmark
+    public long allowed(Caller caller) {
+        return allowing.tryAcquire(keyObjects[caller.random.nextInt(keys)]);
+    }
+
+    @Benchmark
+    public long rejected(Caller caller) {
+        return rejecting.tryAcquire(keyObjects[caller.random.nextInt(keys)]);
+    }
+}
@@ -0,0 +1,119 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.service.EntityCacheStats;
+import com.todoapp.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A 95% read / 5% write mix through {@link TaskService} with the second-level cache off and on.
+ * Besides the time per operation, each iteration prints the JDBC statements per operation and the
+ * per-region hit ratios. A write only evicts its own user's cached list, so hit ratios should hold
+ * as writes spread over more users ({@code -p users=N}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SecondLevelCacheBenchmark {
+
+    private static final int WRITE_PERCENT = 5;
+
+    @Param({ "false", "true" })
+    public boolean cache;
+
+    @Param({ "20" })
+    public int users;
+
+    @Param({ "50" })
+    public int tasksPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private EntityCacheStats cacheStats;
+    private List<User> seeded;
+    private final LongAdder operations = new LongAdder();
+    // Writes come from a fixed seed, so the "off" and "on" runs see the same operation sequence
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixture.start(null, BenchmarkFixture.inMemory("jmh-l2cache"),
+                "spring.main.web-application-type=none", "logging.level.root=WARN",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cache,
+                "spring.jpa.properties.hibernate.generate_statistics=true");
+        taskService = context.getBean(TaskService.class);
+        cacheStats = context.getBean(EntityCacheStats.class);
+        seeded = BenchmarkFixture.registerUsers(context, "cache", users);
+        BenchmarkFixture.seedTasks(context.getBean(JdbcTemplate.class), seeded, tasksPerUser);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounts() {
+        cacheStats.clear();
+        operations.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounts() {
+        BenchmarkFixture.Table table = new BenchmarkFixture.Table("region", "hits", "misses", "ratio %");
+        cacheStats.getRegionStats().forEach((name, region) ->
+                table.row(name, region.hits(), region.misses(), region.hitRatio() * 100));
+        table.print();
+        System.out.printf("statements per operation: %.2f%n", (double) cacheStats.getStatementCount() / Math.max(1, operations.sum()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object readHeavyMix() {
+        operations.increment();
+        User user = seeded.get(random.nextInt(users));
+        if (random.nextInt(100) < WRITE_PERCENT) return write(user);
+        return switch (random.nextInt(3)) {
+            case 0 -> taskService.getAllTasksForUser(user);
+            case 1 -> taskService.getPendingTasksForUser(user);
+            default -> taskService.getCompletedTasksForUser(user);
+        };
+    }
+
+    // Writes replace the task they touch, so every user keeps the same number of live tasks
+    private Object write(User user) {
+        List<Task> tasks = taskService.getPendingTasksForUser(user);
+        if (tasks.isEmpty()) return taskService.createTask(new Task("refill", null, Task.Priority.LOW, user));
+        Task target = tasks.get(random.nextInt(tasks.size()));
+        return switch (random.nextInt(3)) {
+            case 0 -> taskService.updateTask(target.getId(), user, new Task("edited", null, Task.Priority.HIGH, user));
+            case 1 -> taskService.completeTask(target.getId(), user);
+            default -> {
+                taskService.deleteTask(target.getId(), user);
+                yield taskService.createTask(new Task("replacement", null, Task.Priority.LOW, user));
+            }
+        };
+    }
+}
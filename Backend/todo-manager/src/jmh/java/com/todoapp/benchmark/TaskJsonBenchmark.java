@@ -0,0 +1,69 @@
+package com.todoapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization for the list endpoints: the full {@code List<Task>} returned by
+ * {@code GET /api/tasks} and the keyset {@link TaskPage} of summaries, at several list sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TaskJsonBenchmark {
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Task> tasks;
+    private TaskPage page;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot's defaults: Java time module registered, ISO dates
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        tasks = new ArrayList<>(size);
+        Task.Priority[] priorities = Task.Priority.values();
+        LocalDate firstDue = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task("Prepare quarterly report " + i, i % 5 == 0 ? null : firstDue.plusDays(i % 365),
+                    i % 4 == 0 ? null : priorities[i % priorities.length], null);
+            task.setId((long) i + 1);
+            task.setCompleted(i % 3 == 0);
+            tasks.add(task);
+        }
+        page = new TaskPage(tasks.stream().map(TaskSummary::from).toList(), "RFVFX0RBVEU6MjAyNi0wNi0zMDo1MDA");
+    }
+
+    @Benchmark
+    public byte[] taskList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+}
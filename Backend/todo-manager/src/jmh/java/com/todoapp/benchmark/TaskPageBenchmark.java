@@ -0,0 +1,100 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.dto.TaskPage;
+import com.todoapp.entity.User;
+import com.todoapp.service.TaskService;
+import com.todoapp.service.TaskStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyset page latency as a user's list grows: the first page, and a page read from a cursor
+ * halfway down the list, in both orderings. Both should cost about the same at every size, since
+ * a page seeks to its cursor through the index instead of skipping the rows before it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskPageBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "10" })
+    public int users;
+
+    @Param({ "1000", "10000", "100000" })
+    public int tasksPerUser;
+
+    @Param({ "DUE_DATE", "PRIORITY" })
+    public TaskPage.Sort sort;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<User> seeded;
+    private String[] midCursors;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixture.start(null, BenchmarkFixture.inMemory("jmh-page"),
+                "spring.main.web-application-type=none", "logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        seeded = BenchmarkFixture.registerUsers(context, "page", users);
+        BenchmarkFixture.seedTasks(context.getBean(JdbcTemplate.class), seeded, tasksPerUser);
+        context.getBean(TaskStatsService.class).rollover();
+
+        // Walk each user's list in the largest pages to the cursor that starts its second half
+        midCursors = new String[users];
+        for (int u = 0; u < users; u++) {
+            String cursor = null;
+            for (int read = 0; read < tasksPerUser / 2; read += TaskService.MAX_PAGE_SIZE) {
+                int size = Math.min(TaskService.MAX_PAGE_SIZE, tasksPerUser / 2 - read);
+                cursor = taskService.getTaskPage(seeded.get(u), null, sort, cursor, size).getNextCursor();
+            }
+            midCursors[u] = cursor;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskPage firstPage() {
+        return taskService.getTaskPage(seeded.get(randomUser()), null, sort, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TaskPage middlePage() {
+        int u = randomUser();
+        return taskService.getTaskPage(seeded.get(u), null, sort, midCursors[u], PAGE_SIZE);
+    }
+
+    @Benchmark
+    public TaskPage firstPendingPage() {
+        return taskService.getTaskPage(seeded.get(randomUser()), false, sort, null, PAGE_SIZE);
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+}
@@ -0,0 +1,93 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.User;
+import com.todoapp.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title search over a million tasks, once through {@link TaskService#searchTasks} (title index plus
+ * an id lookup) and once with a naive {@code lower(title) like '%word%'} scan of the user's rows.
+ * Setup builds every user's index up front and prints what that cost per user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskSearchBenchmark {
+
+    @Param({ "100" })
+    public int users;
+
+    @Param({ "10000" })
+    public int tasksPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private JdbcTemplate jdbc;
+    private List<User> seeded;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixture.start(null, BenchmarkFixture.inMemory("jmh-search"),
+                "spring.main.web-application-type=none", "logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        seeded = BenchmarkFixture.registerUsers(context, "search", users);
+        BenchmarkFixture.seedTasks(jdbc, seeded, tasksPerUser);
+
+        long start = System.nanoTime();
+        for (User user : seeded) titleIndex(user, BenchmarkFixture.WORDS[0]);
+        System.out.printf("%nindex build: %.1f ms per user of %d tasks%n", (System.nanoTime() - start) / 1e6 / users, tasksPerUser);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskSummary> titleIndex() {
+        return titleIndex(randomUser(), randomWord());
+    }
+
+    @Benchmark
+    public List<Long> likeScan() {
+        return jdbc.queryForList(
+                "select id from tasks where user_id = ? and deleted = false and lower(title) like ? order by due_date, id limit 100",
+                Long.class, randomUser().getId(), "%" + randomWord() + "%");
+    }
+
+    private List<TaskSummary> titleIndex(User user, String word) {
+        return taskService.searchTasks(user, new TaskSearch(word, null, null, null, null), TaskPage.Sort.DUE_DATE, 100);
+    }
+
+    private User randomUser() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(users));
+    }
+
+    private static String randomWord() {
+        return BenchmarkFixture.WORDS[ThreadLocalRandom.current().nextInt(BenchmarkFixture.WORDS.length)];
+    }
+}
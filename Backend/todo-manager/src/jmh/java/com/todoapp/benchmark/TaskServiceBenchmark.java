@@ -0,0 +1,115 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.dto.TaskOperationResult;
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskStats;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.service.TaskService;
+import com.todoapp.service.TaskStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} reads and writes against the embedded H2 store, seeded with users whose
+ * tasks have a spread of titles, due dates, priorities and completion states. Each call picks a
+ * random user, so caches see a realistic mix rather than one hot key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskServiceBenchmark {
+
+    private static final String[] WORDS = BenchmarkFixture.WORDS;
+
+    @Param({ "100" })
+    public int users;
+
+    @Param({ "1000" })
+    public int tasksPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<User> seeded;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixture.start(null, BenchmarkFixture.inMemory("jmh"),
+                "spring.main.web-application-type=none", "logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        seeded = BenchmarkFixture.registerUsers(context, "jmh", users);
+        firstId = BenchmarkFixture.seedTasks(context.getBean(JdbcTemplate.class), seeded, tasksPerUser);
+        // The counters were built at startup, before the rows were inserted behind the service's back
+        context.getBean(TaskStatsService.class).rollover();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> listAll() {
+        return taskService.getAllTasksForUser(randomUser());
+    }
+
+    @Benchmark
+    public TaskPage firstPage() {
+        return taskService.getTaskPage(randomUser(), false, TaskPage.Sort.DUE_DATE, null, 50);
+    }
+
+    @Benchmark
+    public List<TaskSummary> search() {
+        String word = WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+        return taskService.searchTasks(randomUser(), new TaskSearch(word, null, null, null, false), TaskPage.Sort.PRIORITY, 100);
+    }
+
+    @Benchmark
+    public TaskStats stats() {
+        return taskService.getStats(randomUser());
+    }
+
+    @Benchmark
+    public TaskOperationResult update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int u = random.nextInt(users);
+        User user = seeded.get(u);
+        Task details = new Task("update " + WORDS[random.nextInt(WORDS.length)], LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)),
+                Task.Priority.values()[random.nextInt(3)], user);
+        return taskService.updateTask(BenchmarkFixture.taskId(firstId, tasksPerUser, u, random.nextInt(tasksPerUser)), user, details);
+    }
+
+    @Benchmark
+    public TaskOperationResult complete() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int u = random.nextInt(users);
+        return taskService.completeTask(BenchmarkFixture.taskId(firstId, tasksPerUser, u, random.nextInt(tasksPerUser)), seeded.get(u));
+    }
+
+    private User randomUser() {
+        return seeded.get(ThreadLocalRandom.current().nextInt(seeded.size()));
+    }
+}
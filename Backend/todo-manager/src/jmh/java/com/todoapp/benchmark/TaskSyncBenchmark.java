@@ -0,0 +1,101 @@
+package com.todoapp.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.dto.TaskChanges;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.service.TaskService;
+import com.todoapp.service.TaskStatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A client reconnecting after a few edits to its user's tasks: reloading the full list against
+ * asking {@link TaskService#getChanges} for the delta since the client's last token, each
+ * serialized to JSON as the endpoint would. Setup prints the rows and bytes each one sends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TaskSyncBenchmark {
+
+    @Param({ "1000" })
+    public int users;
+
+    @Param({ "100" })
+    public int tasksPerUser;
+
+    @Param({ "2" })
+    public int editsPerUser;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+    private List<User> seeded;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkFixture.start(null, BenchmarkFixture.inMemory("jmh-sync"),
+                "spring.main.web-application-type=none", "logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        seeded = BenchmarkFixture.registerUsers(context, "sync", users);
+        long firstId = BenchmarkFixture.seedTasks(context.getBean(JdbcTemplate.class), seeded, tasksPerUser);
+        context.getBean(TaskStatsService.class).rollover();
+
+        // Every client syncs once and keeps its token, then each user edits a few tasks
+        tokens = new String[users];
+        for (int u = 0; u < users; u++) tokens[u] = taskService.getChanges(seeded.get(u), null).getToken();
+        for (int u = 0; u < users; u++) {
+            for (int e = 0; e < editsPerUser; e++) {
+                taskService.completeTask(BenchmarkFixture.taskId(firstId, tasksPerUser, u, e), seeded.get(u));
+            }
+        }
+
+        List<Task> full = taskService.getAllTasksForUser(seeded.get(0));
+        TaskChanges delta = taskService.getChanges(seeded.get(0), tokens[0]);
+        System.out.printf("%nper client: full reload %d rows, %d bytes; delta %d rows, %d bytes%n",
+                full.size(), objectMapper.writeValueAsBytes(full).length,
+                delta.getChanged().size() + delta.getDeleted().size(), objectMapper.writeValueAsBytes(delta).length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] fullReload() throws Exception {
+        return objectMapper.writeValueAsBytes(taskService.getAllTasksForUser(seeded.get(randomUser())));
+    }
+
+    @Benchmark
+    public byte[] deltaSync() throws Exception {
+        int u = randomUser();
+        return objectMapper.writeValueAsBytes(taskService.getChanges(seeded.get(u), tokens[u]));
+    }
+
+    private int randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+}
@@ -0,0 +1,28 @@
+package com.todoapp.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Gives each SessionFactory its own JCache CacheManager. Caffeine hands out one manager per URI for the
+ * whole JVM, so under the default URI two application contexts (or two test contexts against different
+ * databases) would read each other's cached rows. A non-file URI still loads the regions from
+ * application.conf, and Hibernate closes the manager with the SessionFactory.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheManager() {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER,
+                Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager(
+                        URI.create("urn:todoapp:entity-cache:" + UUID.randomUUID()), getClass().getClassLoader()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.todoapp.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.todoapp.service.EntityCacheStats;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.PasswordHasher;
+import com.todoapp.service.RateLimiter;
+import com.todoapp.service.TaskEventBroker;
+import com.todoapp.service.TaskReminderService;
+import com.todoapp.service.TaskStatsService;
+import com.todoapp.service.TaskTitleIndex;
+import com.todoapp.service.TaskWriteBehind;
+import com.todoapp.service.UserService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the counters the services already keep as Micrometer meters. Every meter here is read
+ * at scrape time from an existing getter, so nothing is added to the request path.
+ * HTTP endpoints, repository calls and the Hikari pool are timed by Spring Boot itself.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder passwordHashMetrics(PasswordHasher hasher) {
+        return registry -> {
+            FunctionTimer.builder("auth.password.hash", hasher, PasswordHasher::getHashCount,
+                            PasswordHasher::getTotalHashMillis, TimeUnit.MILLISECONDS)
+                    .description("BCrypt hashes and verifications on the hashing pool")
+                    .register(registry);
+            Gauge.builder("auth.password.hash.queue", hasher, PasswordHasher::getQueueDepth).register(registry);
+            Gauge.builder("auth.password.hash.active", hasher, PasswordHasher::getActiveCount).register(registry);
+            FunctionCounter.builder("auth.password.hash.rejected", hasher, PasswordHasher::getRejectedCount)
+                    .description("Hash requests turned away with 503")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authCacheMetrics(UserService userService, JwtService jwtService) {
+        return registry -> {
+            bindCache(registry, "principals", userService, UserService::getCacheStats);
+            bindCache(registry, "verified-tokens", jwtService, JwtService::getCacheStats);
+            FunctionCounter.builder("auth.principal.lookups", userService, UserService::getIdentityLookupCount)
+                    .description("Principals loaded from the database")
+                    .register(registry);
+            Gauge.builder("auth.jwt.revoked", jwtService, JwtService::getRevokedCount).register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder taskMetrics(TaskEventBroker eventBroker, TaskTitleIndex titleIndex, TaskStatsService taskStats,
+                                   TaskReminderService reminders, TaskWriteBehind writeBehind) {
+        return registry -> {
+            Gauge.builder("tasks.stream.open", eventBroker, TaskEventBroker::getOpenStreamCount).register(registry);
+            FunctionCounter.builder("tasks.stream.dropped", eventBroker, TaskEventBroker::getDroppedStreamCount)
+                    .description("Streams closed because their send buffer overflowed")
+                    .register(registry);
+            Gauge.builder("tasks.search.indexed.users", titleIndex, TaskTitleIndex::getIndexedUserCount).register(registry);
+            FunctionCounter.builder("tasks.stats.recounts", taskStats, TaskStatsService::getUserRecountCount).register(registry);
+            Gauge.builder("tasks.reminders.scheduled", reminders, TaskReminderService::getScheduledCount).register(registry);
+            FunctionCounter.builder("tasks.reminders.fired", reminders, TaskReminderService::getFiredCount).register(registry);
+            Gauge.builder("tasks.write-behind.pending", writeBehind, TaskWriteBehind::getPendingCount).register(registry);
+            FunctionCounter.builder("tasks.write-behind.flushed", writeBehind, TaskWriteBehind::getFlushedCount)
+                    .description("Completion toggles written to the tasks table")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics(RateLimitInterceptor rateLimits) {
+        return registry -> {
+            for (Map.Entry<String, RateLimiter> rule : rateLimits.getLimiters().entrySet()) {
+                FunctionCounter.builder("rate-limit.rejected", rule.getValue(), RateLimiter::getRejectedCount)
+                        .description("Requests turned away with 429")
+                        .tag("rule", rule.getKey())
+                        .register(registry);
+                Gauge.builder("rate-limit.keys", rule.getValue(), RateLimiter::getKeyCount)
+                        .tag("rule", rule.getKey())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder entityCacheMetrics(EntityCacheStats cacheStats) {
+        return registry -> {
+            for (String region : cacheStats.getRegionStats().keySet()) {
+                bindRegion(registry, cacheStats, region, "hit", EntityCacheStats.RegionStats::hits);
+                bindRegion(registry, cacheStats, region, "miss", EntityCacheStats.RegionStats::misses);
+                Gauge.builder("hibernate.cache.hit.ratio", cacheStats,
+                                stats -> value(stats.getRegionStats(region), EntityCacheStats.RegionStats::hitRatio))
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    // Meters hold their source weakly, so they are bound to the long-lived service rather than a lambda
+    private static <T> void bindCache(MeterRegistry registry, String cache, T owner, Function<T, CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).hitCount())
+                .tags("cache", cache, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).missCount())
+                .tags("cache", cache, "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> stats.apply(o).evictionCount())
+                .tag("cache", cache).register(registry);
+    }
+
+    private static void bindRegion(MeterRegistry registry, EntityCacheStats cacheStats, String region, String result,
+                                   ToDoubleFunction<EntityCacheStats.RegionStats> count) {
+        FunctionCounter.builder("hibernate.cache.gets", cacheStats, stats -> value(stats.getRegionStats(region), count))
+                .tags("region", region, "result", result)
+                .register(registry);
+    }
+
+    private static double value(EntityCacheStats.RegionStats stats, ToDoubleFunction<EntityCacheStats.RegionStats> metric) {
+        return stats == null ? 0 : metric.applyAsDouble(stats);
+    }
+}
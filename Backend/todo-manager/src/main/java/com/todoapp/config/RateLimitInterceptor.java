@@ -0,0 +1,106 @@
+package com.todoapp.config;
+
+import com.todoapp.entity.User;
+import com.todoapp.service.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the {@code rate-limit.rules} in front of the controllers. It runs after the security
+ * chain, so buckets can be keyed by the authenticated user, and before the handler, so a limited
+ * login never reaches the BCrypt check. A request over any of its rules gets 429 with Retry-After.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final List<Limit> limits;
+
+    public RateLimitInterceptor(RateLimitProperties properties) {
+        this.limits = !properties.enabled() ? List.of() : properties.rules().entrySet().stream()
+                .map(rule -> Limit.of(rule.getKey(), rule.getValue(), properties.maxKeys()))
+                .toList();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async re-dispatches (SSE, streamed export) were counted when the request came in
+        if (limits.isEmpty() || request.getDispatcherType() != DispatcherType.REQUEST
+                || CorsUtils.isPreFlightRequest(request)) {
+            return true;
+        }
+        PathContainer path = (ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : ServletRequestPathUtils.parseAndCache(request)).pathWithinApplication();
+        Object user = null;
+        for (Limit limit : limits) {
+            if (!limit.matches(request.getMethod(), path)) continue;
+            if (user == null && limit.perUser()) user = userKey(request);
+            long waitNanos = limit.limiter().tryAcquire(limit.perUser() ? user : request.getRemoteAddr());
+            if (waitNanos > 0) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, divideUp(waitNanos))));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The user id when the JWT filter authenticated the request, otherwise the client address
+    private static Object userKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User user && user.getId() != null) return user.getId();
+        return request.getRemoteAddr();
+    }
+
+    private static long divideUp(long nanos) {
+        return Math.ceilDiv(nanos, TimeUnit.SECONDS.toNanos(1));
+    }
+
+    // ---------------- Metrics ----------------
+    /** The limiter of every active rule, by rule name. */
+    public Map<String, RateLimiter> getLimiters() {
+        Map<String, RateLimiter> limiters = new LinkedHashMap<>();
+        for (Limit limit : limits) limiters.put(limit.name(), limit.limiter());
+        return limiters;
+    }
+
+    private record Limit(String name, List<PathPattern> paths, Set<String> methods, boolean perUser, RateLimiter limiter) {
+
+        static Limit of(String name, RateLimitProperties.Rule rule, long maxKeys) {
+            if (rule.paths() == null || rule.paths().isEmpty() || rule.refillInterval() == null) {
+                throw new IllegalStateException("rate-limit.rules." + name + " needs paths and a refill-interval");
+            }
+            List<PathPattern> paths = rule.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            Set<String> methods = rule.methods().stream().map(String::toUpperCase).collect(Collectors.toUnmodifiableSet());
+            return new Limit(name, paths, methods, rule.key() == RateLimitProperties.Key.USER,
+                    new RateLimiter(rule.capacity(), rule.refillInterval(), maxKeys));
+        }
+
+        boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) return false;
+            for (PathPattern pattern : paths) {
+                if (pattern.matches(path)) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code rate-limit.*} settings: named rules, each a token bucket applied to the requests
+ * matching its paths (and methods, when given). Every matching rule takes a token.
+ */
+@ConfigurationProperties("rate-limit")
+public record RateLimitProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("100000") long maxKeys,
+                                  Map<String, Rule> rules) {
+
+    public RateLimitProperties {
+        rules = rules == null ? Map.of() : rules;
+    }
+
+    /**
+     * Up to {@code capacity} requests at once, then one per {@code refillInterval}. Buckets are per
+     * user, falling back to the client address for anonymous requests, or always per address.
+     */
+    public record Rule(List<String> paths,
+                       @DefaultValue List<String> methods,
+                       long capacity,
+                       Duration refillInterval,
+                       @DefaultValue("USER") Key key) {
+    }
+
+    public enum Key { USER, ADDRESS }
+}
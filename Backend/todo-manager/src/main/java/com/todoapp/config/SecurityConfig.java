@@ -1,27 +1,35 @@
 package com.todoapp.config;
 
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
 import com.todoapp.service.UserService;
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -33,7 +41,6 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 
 //import org.springframework.beans.factory.annotation.Lazy;
 
@@ -41,13 +48,11 @@ import java.nio.charset.StandardCharsets;
 @EnableWebSecurity
 public class SecurityConfig {
 
-    private final UserService userService;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final List<GrantedAuthority> USER_AUTHORITIES = AuthorityUtils.createAuthorityList("USER");
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final UserService userService;
+    private final JwtService jwtService;
+    private final Timer jwtFilterTimer;
 
     @Value("${frontend.url}")
     private String frontendUrl;
@@ -55,13 +60,20 @@ public class SecurityConfig {
     @Value("${h2.console.path:/h2-console/**}")
     private String h2ConsolePath;
 
-    public SecurityConfig(@Lazy UserService userService) {
+    @Value("${auth.principal-from-token:false}")
+    private boolean principalFromToken;
+
+    public SecurityConfig(@Lazy UserService userService, JwtService jwtService, MeterRegistry meterRegistry) {
         this.userService = userService;
+        this.jwtService = jwtService;
+        this.jwtFilterTimer = Timer.builder("auth.jwt.filter")
+                .description("Bearer token verification and principal lookup, excluding the rest of the chain")
+                .register(meterRegistry);
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -77,6 +89,11 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * Resolves the bearer token to a principal. With {@code auth.principal-from-token} the principal is
+     * built from the token's claims, so no request touches the user store; a deleted user's token then
+     * keeps working until it expires, just as it would from the principal cache.
+     */
     @Bean
     public OncePerRequestFilter jwtFilter() {
         return new OncePerRequestFilter() {
@@ -86,21 +103,22 @@ public class SecurityConfig {
                 String authHeader = request.getHeader("Authorization");
                 if (authHeader != null && authHeader.startsWith("Bearer ")) {
                     String token = authHeader.substring(7);
+                    long start = System.nanoTime();
                     try {
-                        String username = Jwts.parserBuilder()
-                                .setSigningKey(jwtSecret.getBytes(StandardCharsets.UTF_8))
-                                .build()
-                                .parseClaimsJws(token)
-                                .getBody()
-                                .getSubject();
-                        if (username != null) {
-                            var userDetails = userService.loadUserByUsername(username);
-                            var auth = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        Claims claims = jwtService.verify(token);
+                        User user = principalFromToken ? principalOf(claims) : null;
+                        if (user == null && claims.getSubject() != null) {
+                            user = userService.findByUsername(claims.getSubject()).orElse(null);
+                        }
+                        if (user != null) {
+                            var auth = new UsernamePasswordAuthenticationToken(user, null, USER_AUTHORITIES);
                             SecurityContextHolder.getContext().setAuthentication(auth);
                         }
                     } catch (JwtException e) {
                         response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid JWT token");
                         return;
+                    } finally {
+                        jwtFilterTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                     }
                 }
                 filterChain.doFilter(request, response);
@@ -108,6 +126,44 @@ public class SecurityConfig {
         };
     }
 
+    // The filter runs inside the security chain only; as a bean it would also be registered with the servlet container
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> jwtFilterRegistration(OncePerRequestFilter jwtFilter) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(jwtFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // Only what the task endpoints read from a principal: its id and username
+    private static User principalOf(Claims claims) {
+        Long userId = claims.get(JwtService.USER_ID_CLAIM, Long.class);
+        if (userId == null) return null;
+        User user = new User();
+        user.setId(userId);
+        user.setUsername(claims.getSubject());
+        return user;
+    }
+
+    /**
+     * Anonymous endpoints get a chain of their own: CORS and stateless handling only, no token
+     * filter, anonymous principal or authorization check. Auth endpoints handle tokens themselves,
+     * so an expired access token must not block a refresh. Of the actuator only health is public;
+     * the Prometheus scrape goes through the main chain and needs a bearer token.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/api/auth/**", "/actuator/health")
+            .csrf(csrf -> csrf.disable())
+            .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .requestCache(cache -> cache.disable())
+            .anonymous(anonymous -> anonymous.disable())
+            .logout(logout -> logout.disable());
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
@@ -115,7 +171,8 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                .requestMatchers("/api/auth/**").permitAll()
+                // Re-dispatch of an already authorized async request (SSE streams)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(h2ConsolePath).permitAll()
                 .anyRequest().authenticated()
             )
@@ -124,18 +181,6 @@ public class SecurityConfig {
 
         return http.build();
     }
-
-    public String generateToken(String username) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
-
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
-                .compact();
-    }
 }
 
 
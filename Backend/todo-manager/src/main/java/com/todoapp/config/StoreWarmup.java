@@ -0,0 +1,70 @@
+package com.todoapp.config;
+
+import com.todoapp.dto.TaskPage;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.service.TaskService;
+import com.todoapp.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the hot read paths once at startup, for the first stored user, so the first real request
+ * does not pay for opening the store, reading index pages from disk and compiling Hibernate query
+ * plans: every keyset page order and the full lists behind {@code GET /api/tasks},
+ * {@code /completed} and {@code /pending}. The full lists load every row of the user into the
+ * second-level cache, so they are skipped for users above {@code store.warmup.max-list-tasks}.
+ */
+@Component
+@ConditionalOnProperty(name = "store.warmup.enabled", havingValue = "true")
+public class StoreWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StoreWarmup.class);
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final UserService userService;
+    private final TaskService taskService;
+    private final long maxListTasks;
+
+    public StoreWarmup(UserRepository userRepository, TaskRepository taskRepository,
+                       UserService userService, TaskService taskService,
+                       @Value("${store.warmup.max-list-tasks:10000}") long maxListTasks) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.userService = userService;
+        this.taskService = taskService;
+        this.maxListTasks = maxListTasks;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long tasks = taskRepository.count();
+
+        userRepository.findAll(PageRequest.of(0, 1)).stream().findFirst().ifPresent(sample -> {
+            User user = userService.findByUsername(sample.getUsername()).orElse(sample);
+            for (TaskPage.Sort sort : TaskPage.Sort.values()) {
+                taskService.getTaskPage(user, null, sort, null, 50);
+                taskService.getTaskPage(user, false, sort, null, 50);
+            }
+            long userTasks = taskService.getStats(user).getTotal();
+            if (userTasks <= maxListTasks) {
+                taskService.getAllTasksForUser(user);
+                taskService.getPendingTasksForUser(user);
+                taskService.getCompletedTasksForUser(user);
+            } else {
+                log.info("Skipped warming the full task lists: {} has {} tasks", user.getUsername(), userTasks);
+            }
+        });
+
+        log.info("Store warm-up finished in {} ms ({} tasks stored)", (System.nanoTime() - start) / 1_000_000, tasks);
+    }
+}
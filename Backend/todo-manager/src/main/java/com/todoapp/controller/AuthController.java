@@ -2,20 +2,20 @@ package com.todoapp.controller;
 
 import com.todoapp.dto.AuthResponse;
 import com.todoapp.dto.LoginRequest;
+import com.todoapp.dto.RefreshRequest;
 import com.todoapp.dto.RegisterRequest;
 import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.PasswordHasher;
+import com.todoapp.service.RefreshTokenService;
 import com.todoapp.service.UserService;
-import io.jsonwebtoken.Jwts;
-//import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.nio.charset.StandardCharsets;
-import java.util.Date;
 import java.util.Optional;
 
 @RestController
@@ -26,11 +26,11 @@ public class AuthController {
     @Autowired
     private UserService userService;
     
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    @Autowired
+    private JwtService jwtService;
     
-    @Value("${jwt.expiration}")
-    private int jwtExpiration;
+    @Autowired
+    private RefreshTokenService refreshTokenService;
     
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody RegisterRequest request) {
@@ -41,13 +41,16 @@ public class AuthController {
                 request.getEmail()
             );
             
-            String token = generateToken(user.getUsername());
+            String token = jwtService.generateToken(user);
             
             return ResponseEntity.ok(new AuthResponse(
                 token, 
+                refreshTokenService.issue(user),
                 user.getUsername(), 
                 "User registered successfully"
             ));
+        } catch (PasswordHasher.BusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                 .body(new AuthResponse(null, null, e.getMessage()));
@@ -60,11 +63,18 @@ public class AuthController {
         
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            if (userService.checkPassword(user, request.getPassword())) {
-                String token = generateToken(user.getUsername());
+            boolean matches;
+            try {
+                matches = userService.checkPassword(user, request.getPassword());
+            } catch (PasswordHasher.BusyException e) {
+                return busy(e);
+            }
+            if (matches) {
+                String token = jwtService.generateToken(user);
                 
                 return ResponseEntity.ok(new AuthResponse(
                     token, 
+                    refreshTokenService.issue(user),
                     user.getUsername(), 
                     "Login successful"
                 ));
@@ -74,16 +84,33 @@ public class AuthController {
         return ResponseEntity.badRequest()
             .body(new AuthResponse(null, null, "Invalid username or password"));
     }
+
+    // ---------------- Refresh: new access token from a refresh token, no password check ----------------
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+            .<ResponseEntity<?>>map(issued -> ResponseEntity.ok(new AuthResponse(
+                jwtService.generateToken(issued.user()),
+                issued.refreshToken(),
+                issued.user().getUsername(),
+                "Token refreshed"
+            )))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new AuthResponse(null, null, "Invalid or expired refresh token")));
+    }
     
-    private String generateToken(String username) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
-        
-        return Jwts.builder()
-            .setSubject(username)
-            .setIssuedAt(now)
-            .setExpiration(expiryDate)
-            .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8))) // non-deprecated
-            .compact();
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshRequest request,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (request != null) refreshTokenService.revoke(request.getRefreshToken());
+        if (authHeader != null && authHeader.startsWith("Bearer ")) jwtService.revoke(authHeader.substring(7));
+        return ResponseEntity.ok().build();
+    }
+
+    // Hashing pool is saturated: shed the request quickly and tell the client when to come back
+    private ResponseEntity<AuthResponse> busy(PasswordHasher.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new AuthResponse(null, null, e.getMessage()));
     }
-}
\ No newline at end of file
+}
@@ -1,66 +1,149 @@
 package com.todoapp.controller;
 
+import com.todoapp.dto.TaskChanges;
+import com.todoapp.dto.TaskImportResult;
+import com.todoapp.dto.TaskOperation;
+import com.todoapp.dto.TaskOperationResult;
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskStats;
+import com.todoapp.dto.TaskSummary;
 import com.todoapp.entity.Task;
 import com.todoapp.entity.User;
+import com.todoapp.service.TaskEventBroker;
 import com.todoapp.service.TaskService;
-import com.todoapp.service.UserService;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
-import java.security.Key;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TaskController {
 
+    public static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private TaskService taskService;
 
     @Autowired
-    private UserService userService;
-
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private TaskEventBroker eventBroker;
 
+    // ---------------- Full listings (conditional: If-None-Match answers 304 without loading tasks) ----------------
     @GetMapping
-    public ResponseEntity<List<Task>> getAllTasks(@RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    public ResponseEntity<List<Task>> getAllTasks(@AuthenticationPrincipal User user, WebRequest request) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        List<Task> tasks = taskService.getAllTasksForUser(user);
-        return ResponseEntity.ok(tasks);
+        return conditional(user, request, () -> taskService.getAllTasksForUser(user));
     }
 
     @GetMapping("/completed")
-    public ResponseEntity<List<Task>> getCompletedTasks(@RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    public ResponseEntity<List<Task>> getCompletedTasks(@AuthenticationPrincipal User user, WebRequest request) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        List<Task> tasks = taskService.getCompletedTasksForUser(user);
-        return ResponseEntity.ok(tasks);
+        return conditional(user, request, () -> taskService.getCompletedTasksForUser(user));
     }
 
     @GetMapping("/pending")
-    public ResponseEntity<List<Task>> getPendingTasks(@RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    public ResponseEntity<List<Task>> getPendingTasks(@AuthenticationPrincipal User user, WebRequest request) {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return conditional(user, request, () -> taskService.getPendingTasksForUser(user));
+    }
+
+    // ---------------- Keyset-paginated listings (?size=N[&sort=dueDate|priority][&cursor=...]) ----------------
+    @GetMapping(params = "size")
+    public ResponseEntity<TaskPage> getAllTasksPage(@RequestParam int size,
+                                                    @RequestParam(defaultValue = "dueDate") String sort,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @AuthenticationPrincipal User user, WebRequest request) {
+        return getTaskPage(user, null, sort, cursor, size, request);
+    }
+
+    @GetMapping(value = "/completed", params = "size")
+    public ResponseEntity<TaskPage> getCompletedTasksPage(@RequestParam int size,
+                                                          @RequestParam(defaultValue = "dueDate") String sort,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @AuthenticationPrincipal User user, WebRequest request) {
+        return getTaskPage(user, true, sort, cursor, size, request);
+    }
+
+    @GetMapping(value = "/pending", params = "size")
+    public ResponseEntity<TaskPage> getPendingTasksPage(@RequestParam int size,
+                                                        @RequestParam(defaultValue = "dueDate") String sort,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @AuthenticationPrincipal User user, WebRequest request) {
+        return getTaskPage(user, false, sort, cursor, size, request);
+    }
+
+    // ---------------- Dashboard counters (served from memory, no task rows read) ----------------
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStats> getStats(@AuthenticationPrincipal User user) {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        return ResponseEntity.ok(taskService.getStats(user));
+    }
+
+    // ---------------- Search (?q=words&priority=HIGH&dueFrom=2026-01-01&dueTo=...&completed=false&sort=...&limit=N) ----------------
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskSummary>> searchTasks(@RequestParam(required = false) String q,
+                                                         @RequestParam(required = false) Task.Priority priority,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                         @RequestParam(required = false) Boolean completed,
+                                                         @RequestParam(defaultValue = "dueDate") String sort,
+                                                         @RequestParam(defaultValue = "100") int limit,
+                                                         @AuthenticationPrincipal User user) {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        TaskPage.Sort order = parseSort(sort);
+        if (order == null || (dueFrom != null && dueTo != null && dueFrom.isAfter(dueTo))) {
+            return ResponseEntity.badRequest().build();
+        }
+        TaskSearch search = new TaskSearch(q, priority, dueFrom, dueTo, completed);
+        return ResponseEntity.ok(taskService.searchTasks(user, search, order, limit));
+    }
+
+    // ---------------- Delta sync (?since=<token from the previous response>) ----------------
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChanges> getChanges(@RequestParam(required = false) String since, @AuthenticationPrincipal User user) {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        try {
+            return ResponseEntity.ok(taskService.getChanges(user, since));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // ---------------- Change stream (SSE; resumes from the Last-Event-ID header) ----------------
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTasks(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+                                                  @AuthenticationPrincipal User user) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        List<Task> tasks = taskService.getPendingTasksForUser(user);
-        return ResponseEntity.ok(tasks);
+        return eventBroker.subscribe(user.getId(), lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
     }
 
     @PostMapping
-    public ResponseEntity<Task> createTask(@RequestBody Task task, @RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    public ResponseEntity<Task> createTask(@RequestBody Task task, @AuthenticationPrincipal User user) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
         task.setUser(user);
@@ -68,80 +151,93 @@ public class TaskController {
         return ResponseEntity.ok(createdTask);
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @RequestBody Task taskDetails, @RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskOperationResult>> applyBatch(@RequestBody List<TaskOperation> operations, @AuthenticationPrincipal User user) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        if (operations.size() > TaskService.MAX_BATCH_SIZE) return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
 
-        Optional<Task> taskOptional = taskService.getTaskById(id);
-        if (taskOptional.isPresent()) {
-            Task task = taskOptional.get();
-            if (!task.getUser().getId().equals(user.getId()))
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-
-            task.setTitle(taskDetails.getTitle());
-            task.setDueDate(taskDetails.getDueDate());
-            task.setPriority(taskDetails.getPriority());
+        return ResponseEntity.ok(taskService.applyBatch(user, operations));
+    }
 
-            Task updatedTask = taskService.updateTask(task);
-            return ResponseEntity.ok(updatedTask);
-        }
+    @PutMapping("/{id}")
+    public ResponseEntity<TaskSummary> updateTask(@PathVariable Long id, @RequestBody Task taskDetails, @AuthenticationPrincipal User user) {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        return ResponseEntity.notFound().build();
+        return toResponse(taskService.updateTask(id, user, taskDetails));
     }
 
     @PutMapping("/{id}/complete")
-    public ResponseEntity<Task> markTaskComplete(@PathVariable Long id, @RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    public ResponseEntity<TaskSummary> markTaskComplete(@PathVariable Long id, @AuthenticationPrincipal User user) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        Optional<Task> taskOptional = taskService.getTaskById(id);
-        if (taskOptional.isPresent()) {
-            Task task = taskOptional.get();
-            if (!task.getUser().getId().equals(user.getId()))
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
-
-            task.setCompleted(true);
-            Task updatedTask = taskService.updateTask(task);
-            return ResponseEntity.ok(updatedTask);
-        }
-
-        return ResponseEntity.notFound().build();
+        return toResponse(taskService.completeTask(id, user));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteTask(@PathVariable Long id, @RequestHeader("Authorization") String token) {
-        User user = getUserFromToken(token);
+    public ResponseEntity<?> deleteTask(@PathVariable Long id, @AuthenticationPrincipal User user) {
         if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
 
-        Optional<Task> taskOptional = taskService.getTaskById(id);
-        if (taskOptional.isPresent()) {
-            Task task = taskOptional.get();
-            if (!task.getUser().getId().equals(user.getId()))
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        return ResponseEntity.status(taskService.deleteTask(id, user).getStatus()).build();
+    }
 
-            taskService.deleteTask(id);
-            return ResponseEntity.ok().build();
+    // ---------------- Export / import (NDJSON, one task per line) ----------------
+    // Written straight to the response as rows are read; no list of tasks is ever built
+    @GetMapping("/export")
+    public void exportTasks(@AuthenticationPrincipal User user, HttpServletResponse response) throws IOException {
+        if (user == null) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value());
+            return;
         }
+        response.setContentType(NDJSON);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"");
+        taskService.exportTasks(user, response.getOutputStream());
+    }
 
-        return ResponseEntity.notFound().build();
+    // All or nothing: a malformed line anywhere answers 400 and imports no task; lines without a title are skipped
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<TaskImportResult> importTasks(InputStream body, @AuthenticationPrincipal User user) throws IOException {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        TaskImportResult result = taskService.importTasks(user, body);
+        return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+    }
+
+    // 404 for a missing task and 403 for another user's, as decided by the mutation itself
+    private static ResponseEntity<TaskSummary> toResponse(TaskOperationResult result) {
+        return result.getStatus() == HttpStatus.OK.value()
+                ? ResponseEntity.ok(result.getTask())
+                : ResponseEntity.status(result.getStatus()).build();
     }
 
-    private User getUserFromToken(String token) {
+    private ResponseEntity<TaskPage> getTaskPage(User user, Boolean completed, String sort, String cursor, int size,
+                                                 WebRequest request) {
+        if (user == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+
+        TaskPage.Sort order = parseSort(sort);
+        if (order == null) return ResponseEntity.badRequest().build();
+
         try {
-            String jwt = token.replace("Bearer ", "");
-            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
-            String username = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(jwt)
-                    .getBody()
-                    .getSubject();
-
-            return userService.findByUsername(username).orElse(null);
-        } catch (Exception e) {
-            return null;
+            return conditional(user, request, () -> taskService.getTaskPage(user, completed, order, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Strong ETag from the user's list version, checked before the body is loaded. The tag is the same
+    // for every listing URL of the user; caches key it by URL, so that is safe.
+    private <T> ResponseEntity<T> conditional(User user, WebRequest request, Supplier<T> body) {
+        String etag = "\"" + user.getId() + "-" + taskService.getListVersion(user) + "\"";
+        CacheControl revalidate = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(revalidate).build();
         }
+        return ResponseEntity.ok().eTag(etag).cacheControl(revalidate).body(body.get());
+    }
+
+    // null for an unknown sort name
+    private static TaskPage.Sort parseSort(String sort) {
+        if ("dueDate".equals(sort)) return TaskPage.Sort.DUE_DATE;
+        if ("priority".equals(sort)) return TaskPage.Sort.PRIORITY;
+        return null;
     }
 }
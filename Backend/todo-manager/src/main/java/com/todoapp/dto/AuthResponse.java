@@ -4,6 +4,7 @@ public class AuthResponse {
     private String token;
     private String username;
     private String message;
+    private String refreshToken;
     
     public AuthResponse(String token, String username, String message) {
         this.token = token;
@@ -11,6 +12,11 @@ public class AuthResponse {
         this.message = message;
     }
     
+    public AuthResponse(String token, String refreshToken, String username, String message) {
+        this(token, username, message);
+        this.refreshToken = refreshToken;
+    }
+    
     public String getToken() { return token; }
     public void setToken(String token) { this.token = token; }
     
@@ -19,4 +25,7 @@ public class AuthResponse {
     
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+    
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
 }
@@ -0,0 +1,4 @@
+package com.todoapp.dto;
+
+/** Number of one user's pending tasks due before a given day; used to rebuild the stats counters. */
+public record OverdueCount(Long userId, long count) {}
@@ -0,0 +1,10 @@
+package com.todoapp.dto;
+
+public class RefreshRequest {
+    private String refreshToken;
+    
+    public RefreshRequest() {}
+    
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
@@ -0,0 +1,23 @@
+package com.todoapp.dto;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+
+/**
+ * A live task as it was before an owner-scoped write, read from the write statement itself (or, for
+ * a write-behind completion, by a plain read). The owner is included so another user's row can be
+ * told apart from the caller's.
+ */
+public interface TaskBefore {
+    Long getId();
+    Long getUserId();
+    String getTitle();
+    LocalDate getDueDate();
+    Task.Priority getPriority();
+    boolean isCompleted();
+
+    default TaskSummary toSummary() {
+        return new TaskSummary(getId(), getTitle(), getDueDate(), getPriority(), isCompleted());
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.dto;
+
+import java.util.List;
+
+/** Tasks written after a sync token, returned by {@code /api/tasks/changes}. */
+public class TaskChanges {
+    private List<TaskSummary> changed;
+    private List<Long> deleted;
+    private String token;
+    private boolean full;
+    private boolean hasMore;
+
+    public TaskChanges(List<TaskSummary> changed, List<Long> deleted, String token, boolean full, boolean hasMore) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.token = token;
+        this.full = full;
+        this.hasMore = hasMore;
+    }
+
+    /** Tasks created or modified since the token. */
+    public List<TaskSummary> getChanged() { return changed; }
+
+    /** Ids of tasks deleted since the token. */
+    public List<Long> getDeleted() { return deleted; }
+
+    /** Token to send as {@code since} on the next call. */
+    public String getToken() { return token; }
+
+    /** True when the client must drop its local copy and rebuild it from this response (and any following pages). */
+    public boolean isFull() { return full; }
+
+    /** True when more changes are waiting; call again with {@link #getToken()} straight away. */
+    public boolean isHasMore() { return hasMore; }
+}
@@ -0,0 +1,6 @@
+package com.todoapp.dto;
+
+import com.todoapp.entity.Task;
+
+/** Live tasks of one user sharing a completion state and priority; used to rebuild the stats counters. */
+public record TaskCount(Long userId, boolean completed, Task.Priority priority, long count) {}
@@ -0,0 +1,6 @@
+package com.todoapp.dto;
+
+import java.time.LocalDate;
+
+/** A pending task's id, owner and due date, as loaded to schedule its reminders. */
+public record TaskDue(Long id, Long userId, LocalDate dueDate) {}
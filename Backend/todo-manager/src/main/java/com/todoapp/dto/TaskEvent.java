@@ -0,0 +1,28 @@
+package com.todoapp.dto;
+
+/** A change to one of the user's tasks, or a due-date reminder, pushed over {@code /api/tasks/stream}. */
+public class TaskEvent {
+    public enum Type {
+        CREATED, UPDATED, COMPLETED, DELETED, DUE, OVERDUE
+    }
+
+    private long id;
+    private Type type;
+    private Long taskId;
+    private TaskSummary task;
+
+    public TaskEvent(long id, Type type, Long taskId, TaskSummary task) {
+        this.id = id;
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    /** Increasing event id; sent as the SSE id and accepted back as Last-Event-ID. */
+    public long getId() { return id; }
+    public Type getType() { return type; }
+    public Long getTaskId() { return taskId; }
+
+    /** The task after the change, or {@code null} for deletions and reminders. */
+    public TaskSummary getTask() { return task; }
+}
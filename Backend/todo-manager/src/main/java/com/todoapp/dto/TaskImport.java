@@ -0,0 +1,8 @@
+package com.todoapp.dto;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+
+/** One line of a {@code /api/tasks/import} body. Lines from an export also carry an id, which is ignored. */
+public record TaskImport(String title, LocalDate dueDate, Task.Priority priority, boolean completed) {}
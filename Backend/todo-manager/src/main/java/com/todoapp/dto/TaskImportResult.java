@@ -0,0 +1,7 @@
+package com.todoapp.dto;
+
+/**
+ * Outcome of an import. The import is one transaction, so on a malformed line nothing is imported
+ * and {@code error} says where parsing stopped.
+ */
+public record TaskImportResult(long imported, long skipped, String error) {}
@@ -0,0 +1,36 @@
+package com.todoapp.dto;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+
+/** One entry of a {@code /api/tasks/batch} request. */
+public class TaskOperation {
+
+    public enum Type {
+        CREATE, UPDATE, COMPLETE, DELETE
+    }
+
+    private Type op;
+    private Long id;
+    private String title;
+    private LocalDate dueDate;
+    private Task.Priority priority;
+
+    public TaskOperation() {}
+
+    public Type getOp() { return op; }
+    public void setOp(Type op) { this.op = op; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDate getDueDate() { return dueDate; }
+    public void setDueDate(LocalDate dueDate) { this.dueDate = dueDate; }
+
+    public Task.Priority getPriority() { return priority; }
+    public void setPriority(Task.Priority priority) { this.priority = priority; }
+}
@@ -0,0 +1,27 @@
+package com.todoapp.dto;
+
+/** Outcome of a single {@link TaskOperation}, reported at the same index as the request entry. */
+public class TaskOperationResult {
+    private int index;
+    private TaskOperation.Type op;
+    private Long id;
+    private int status;
+    private TaskSummary task;
+    private String message;
+
+    public TaskOperationResult(int index, TaskOperation.Type op, Long id, int status, TaskSummary task, String message) {
+        this.index = index;
+        this.op = op;
+        this.id = id;
+        this.status = status;
+        this.task = task;
+        this.message = message;
+    }
+
+    public int getIndex() { return index; }
+    public TaskOperation.Type getOp() { return op; }
+    public Long getId() { return id; }
+    public int getStatus() { return status; }
+    public TaskSummary getTask() { return task; }
+    public String getMessage() { return message; }
+}
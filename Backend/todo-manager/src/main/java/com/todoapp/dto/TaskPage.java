@@ -0,0 +1,23 @@
+package com.todoapp.dto;
+
+import java.util.List;
+
+public class TaskPage {
+    // Keyset orderings; ties are always broken by task id
+    public enum Sort {
+        DUE_DATE, PRIORITY
+    }
+
+    private List<TaskSummary> items;
+    private String nextCursor;
+
+    public TaskPage(List<TaskSummary> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskSummary> getItems() { return items; }
+
+    /** Opaque cursor for the following page, or {@code null} on the last page. */
+    public String getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,14 @@
+package com.todoapp.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A pending task reaching its due date ({@code DUE}, at the start of the day less the configured lead)
+ * or the day after it ({@code OVERDUE}).
+ */
+public record TaskReminder(Type type, Long userId, Long taskId, LocalDate dueDate) {
+
+    public enum Type {
+        DUE, OVERDUE
+    }
+}
@@ -0,0 +1,11 @@
+package com.todoapp.dto;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Predicates for {@code GET /api/tasks/search}; null fields, and text without a word, are not applied.
+ * {@code text} matches tasks whose title has a word starting with each of its words, ignoring case.
+ */
+public record TaskSearch(String text, Task.Priority priority, LocalDate dueFrom, LocalDate dueTo, Boolean completed) {}
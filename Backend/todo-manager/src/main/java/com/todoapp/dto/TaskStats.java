@@ -0,0 +1,37 @@
+package com.todoapp.dto;
+
+/** Per-user task counts returned by {@code /api/tasks/stats}; read from counters, never from a scan. */
+public class TaskStats {
+    private long total;
+    private long completed;
+    private long pending;
+    private long overdue;
+    private long highPriority;
+    private long mediumPriority;
+    private long lowPriority;
+    private long noPriority;
+
+    public TaskStats(long total, long completed, long overdue,
+                     long highPriority, long mediumPriority, long lowPriority, long noPriority) {
+        this.total = total;
+        this.completed = completed;
+        this.pending = total - completed;
+        this.overdue = overdue;
+        this.highPriority = highPriority;
+        this.mediumPriority = mediumPriority;
+        this.lowPriority = lowPriority;
+        this.noPriority = noPriority;
+    }
+
+    public long getTotal() { return total; }
+    public long getCompleted() { return completed; }
+    public long getPending() { return pending; }
+
+    /** Pending tasks due before today. */
+    public long getOverdue() { return overdue; }
+
+    public long getHighPriority() { return highPriority; }
+    public long getMediumPriority() { return mediumPriority; }
+    public long getLowPriority() { return lowPriority; }
+    public long getNoPriority() { return noPriority; }
+}
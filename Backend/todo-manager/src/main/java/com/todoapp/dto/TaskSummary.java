@@ -0,0 +1,35 @@
+package com.todoapp.dto;
+
+import com.todoapp.entity.Task;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only view of a task, selected straight from JPQL so listing
+ * endpoints never hydrate {@link Task} entities or touch the owning user.
+ */
+public class TaskSummary {
+    private Long id;
+    private String title;
+    private LocalDate dueDate;
+    private Task.Priority priority;
+    private boolean completed;
+
+    public TaskSummary(Long id, String title, LocalDate dueDate, Task.Priority priority, boolean completed) {
+        this.id = id;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.priority = priority;
+        this.completed = completed;
+    }
+
+    public static TaskSummary from(Task task) {
+        return new TaskSummary(task.getId(), task.getTitle(), task.getDueDate(), task.getPriority(), task.isCompleted());
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public LocalDate getDueDate() { return dueDate; }
+    public Task.Priority getPriority() { return priority; }
+    public boolean isCompleted() { return completed; }
+}
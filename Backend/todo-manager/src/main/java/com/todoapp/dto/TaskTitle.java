@@ -0,0 +1,4 @@
+package com.todoapp.dto;
+
+/** A task's id, title and version, as loaded to build the title search index. */
+public record TaskTitle(Long id, String title, long version) {}
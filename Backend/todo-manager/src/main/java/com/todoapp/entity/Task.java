@@ -1,13 +1,27 @@
 package com.todoapp.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "tasks", indexes = {
+    // Per-user listings filtered by completion, ordered by due date
+    @Index(name = "idx_tasks_user_completed_due", columnList = "user_id, completed, due_date"),
+    // Per-user listings ordered by priority
+    @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority"),
+    // Per-user delta sync: rows changed after a version
+    @Index(name = "idx_tasks_user_version", columnList = "user_id, version")
+})
 public class Task {
+    // Sequence ids are assigned before insert, which lets Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -19,7 +33,17 @@ public class Task {
     private Priority priority;
     
     private boolean completed = false;
+
+    // Change number from TaskService's clock, bumped on every write including deletion
+    @Column(nullable = false)
+    private long version;
+
+    // Tombstone left by deleteTask so delta sync can report the removal
+    @JsonIgnore
+    @Column(nullable = false)
+    private boolean deleted = false;
     
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -55,6 +79,12 @@ public class Task {
     public boolean isCompleted() { return completed; }
     public void setCompleted(boolean completed) { this.completed = completed; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
+    public boolean isDeleted() { return deleted; }
+    public void setDeleted(boolean deleted) { this.deleted = deleted; }
+    
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 }
\ No newline at end of file
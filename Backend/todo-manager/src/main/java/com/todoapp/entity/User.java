@@ -1,9 +1,14 @@
 package com.todoapp.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
 public class User {
     @Id
@@ -19,7 +24,12 @@ public class User {
     @Column(unique = true, nullable = false)
     private String email;
     
+    // Backs TaskService's per-user lists; cached per owner, ordered by id so lists come out in creation order.
+    // Live tasks only: tombstones are never loaded, and TaskService evicts the owner's entry on delete.
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @SQLRestriction("deleted = false")
+    @OrderBy("id")
     private List<Task> tasks;
     
     // Constructors
@@ -1,11 +1,144 @@
 package com.todoapp.repository;
 
+import com.todoapp.dto.OverdueCount;
+import com.todoapp.dto.TaskBefore;
+import com.todoapp.dto.TaskCount;
+import com.todoapp.dto.TaskDue;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.dto.TaskTitle;
 import com.todoapp.entity.Task;
-import com.todoapp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByUser(User user);
-    List<Task> findByUserAndCompleted(User user, boolean completed);
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskSearchRepository {
+    // ---------------- Owner-scoped single-statement mutations ----------------
+    // One statement each: the caller's live row is written and returned as it was before, another
+    // user's live row is returned untouched, and nothing comes back for a missing or deleted task.
+    // Native, so Hibernate does not drop the whole Task region; TaskService evicts the one entry.
+    String BEFORE_COLUMNS = "select id as \"id\", user_id as \"userId\", title as \"title\", due_date as \"dueDate\", " +
+            "priority as \"priority\", completed as \"completed\" from ";
+    String BEFORE = BEFORE_COLUMNS + "old table (";
+    String OWNED_OR_FOREIGN = " where id = :id and user_id = :userId and deleted = false) " +
+            "union all " + BEFORE_COLUMNS + "tasks where id = :id and user_id <> :userId and deleted = false";
+
+    @Query(value = BEFORE + "update tasks set title = :title, due_date = :dueDate, priority = :priority, version = :version" +
+           OWNED_OR_FOREIGN, nativeQuery = true)
+    Optional<TaskBefore> updateDetails(@Param("id") Long id, @Param("userId") Long userId, @Param("title") String title,
+                                       @Param("dueDate") LocalDate dueDate, @Param("priority") String priority,
+                                       @Param("version") long version);
+
+    @Query(value = BEFORE + "update tasks set completed = true, version = :version" + OWNED_OR_FOREIGN, nativeQuery = true)
+    Optional<TaskBefore> markCompleted(@Param("id") Long id, @Param("userId") Long userId, @Param("version") long version);
+
+    // Leaves a tombstone so delta sync can report the removal
+    @Query(value = BEFORE + "update tasks set deleted = true, version = :version" + OWNED_OR_FOREIGN, nativeQuery = true)
+    Optional<TaskBefore> markDeleted(@Param("id") Long id, @Param("userId") Long userId, @Param("version") long version);
+
+    // The same row without writing or locking it, for completions acknowledged by write-behind
+    @Query(value = BEFORE_COLUMNS + "tasks where id = :id and deleted = false", nativeQuery = true)
+    Optional<TaskBefore> findLive(@Param("id") Long id);
+
+    // ---------------- Export ----------------
+    // Forward-only cursor over projections: rows arrive in fetch-size chunks and never enter the persistence context
+    @QueryHints({ @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+                  @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("select new com.todoapp.dto.TaskSummary(t.id, t.title, t.dueDate, t.priority, t.completed) from Task t " +
+           "where t.user.id = :userId and t.deleted = false order by t.id")
+    Stream<TaskSummary> streamByUser(@Param("userId") Long userId);
+
+    // ---------------- Set-based ownership checks ----------------
+    @Query("select t from Task t where t.id in :ids and t.user.id = :userId and t.deleted = false")
+    List<Task> findOwnedByIds(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("select t.id from Task t where t.id in :ids and t.deleted = false")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // ---------------- Delta sync ----------------
+    @Query("select coalesce(max(t.version), 0) from Task t")
+    long findMaxVersion();
+
+    // Tombstones included; an empty snapshot's token stays at or below it
+    @Query("select coalesce(max(t.version), 0) from Task t where t.user.id = :userId")
+    long findMaxVersion(@Param("userId") Long userId);
+
+    // Live rows and tombstones written after a version, oldest change first
+    @Query("select t from Task t where t.user.id = :userId and t.version > :since order by t.version")
+    List<Task> findChangedSince(@Param("userId") Long userId, @Param("since") long since, Pageable pageable);
+
+    @Query("select t from Task t where t.user.id = :userId and t.deleted = false and t.version > :since order by t.version")
+    List<Task> findLiveChangedSince(@Param("userId") Long userId, @Param("since") long since, Pageable pageable);
+
+    // Tombstones no sync token at or above the version can still ask for
+    @Modifying
+    @Query("delete from Task t where t.deleted = true and t.version < :version")
+    int deleteTombstonesBefore(@Param("version") long version);
+
+    // ---------------- Search (typed predicates in TaskSearchRepository) ----------------
+    @Query("select new com.todoapp.dto.TaskTitle(t.id, t.title, t.version) from Task t " +
+           "where t.user.id = :userId and t.deleted = false")
+    List<TaskTitle> findTitles(@Param("userId") Long userId);
+
+    // ---------------- Stats rebuild (every user when userId is null) ----------------
+    @Query("select new com.todoapp.dto.TaskCount(t.user.id, t.completed, t.priority, count(t)) from Task t " +
+           "where (:userId is null or t.user.id = :userId) and t.deleted = false " +
+           "group by t.user.id, t.completed, t.priority")
+    List<TaskCount> countByState(@Param("userId") Long userId);
+
+    @Query("select new com.todoapp.dto.OverdueCount(t.user.id, count(t)) from Task t " +
+           "where (:userId is null or t.user.id = :userId) and t.deleted = false and t.completed = false " +
+           "and t.dueDate < :today group by t.user.id")
+    List<OverdueCount> countOverdue(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    // ---------------- Reminder rebuild (keyset pages over every user) ----------------
+    @Query("select new com.todoapp.dto.TaskDue(t.id, t.user.id, t.dueDate) from Task t " +
+           "where t.id > :afterId and t.deleted = false and t.completed = false and t.dueDate >= :from " +
+           "order by t.id")
+    List<TaskDue> findPendingDue(@Param("afterId") long afterId, @Param("from") LocalDate from, Pageable pageable);
+
+    // ---------------- Keyset pages (projections, no entities) ----------------
+    @Query("select new com.todoapp.dto.TaskSummary(t.id, t.title, t.dueDate, t.priority, t.completed) from Task t " +
+           "where t.user.id = :userId and t.deleted = false and t.completed in :states and t.dueDate is not null " +
+           "and (t.dueDate > :dueDate or (t.dueDate = :dueDate and t.id > :afterId)) " +
+           "order by t.dueDate, t.id")
+    List<TaskSummary> findPageByDueDate(@Param("userId") Long userId,
+                                        @Param("states") Collection<Boolean> states,
+                                        @Param("dueDate") LocalDate dueDate,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    @Query("select new com.todoapp.dto.TaskSummary(t.id, t.title, t.dueDate, t.priority, t.completed) from Task t " +
+           "where t.user.id = :userId and t.deleted = false and t.completed in :states and t.dueDate is null and t.id > :afterId " +
+           "order by t.id")
+    List<TaskSummary> findPageWithoutDueDate(@Param("userId") Long userId,
+                                             @Param("states") Collection<Boolean> states,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    @Query("select new com.todoapp.dto.TaskSummary(t.id, t.title, t.dueDate, t.priority, t.completed) from Task t " +
+           "where t.user.id = :userId and t.deleted = false and t.completed in :states and t.priority = :priority and t.id > :afterId " +
+           "order by t.id")
+    List<TaskSummary> findPageByPriority(@Param("userId") Long userId,
+                                         @Param("states") Collection<Boolean> states,
+                                         @Param("priority") Task.Priority priority,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    @Query("select new com.todoapp.dto.TaskSummary(t.id, t.title, t.dueDate, t.priority, t.completed) from Task t " +
+           "where t.user.id = :userId and t.deleted = false and t.completed in :states and t.priority is null and t.id > :afterId " +
+           "order by t.id")
+    List<TaskSummary> findPageWithoutPriority(@Param("userId") Long userId,
+                                              @Param("states") Collection<Boolean> states,
+                                              @Param("afterId") Long afterId,
+                                              Pageable pageable);
+}
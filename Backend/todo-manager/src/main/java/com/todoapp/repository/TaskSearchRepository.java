@@ -0,0 +1,18 @@
+package com.todoapp.repository;
+
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskSummary;
+import org.springframework.data.domain.Pageable;
+import java.util.Collection;
+import java.util.List;
+
+/** Search over the typed predicates of a {@link TaskSearch}, built per call so unset ones are left out of the SQL. */
+public interface TaskSearchRepository {
+
+    /**
+     * One page of the user's live tasks matching every set predicate of {@code search} except its text,
+     * among {@code ids} unless null. Ordered like the keyset pages, tasks missing the sort key last.
+     */
+    List<TaskSummary> search(Long userId, TaskSearch search, Collection<Long> ids, TaskPage.Sort sort, Pageable pageable);
+}
@@ -0,0 +1,60 @@
+package com.todoapp.repository;
+
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Picked up by Spring Data as the implementation of TaskRepository's TaskSearchRepository fragment
+class TaskSearchRepositoryImpl implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSummary> search(Long userId, TaskSearch search, Collection<Long> ids, TaskPage.Sort sort, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskSummary> query = cb.createQuery(TaskSummary.class);
+        Root<Task> t = query.from(Task.class);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("user").get("id"), userId));
+        where.add(cb.isFalse(t.get("deleted")));
+        if (search.completed() != null) where.add(cb.equal(t.get("completed"), search.completed()));
+        if (search.priority() != null) where.add(cb.equal(t.get("priority"), search.priority()));
+        if (search.dueFrom() != null) where.add(cb.greaterThanOrEqualTo(t.<LocalDate>get("dueDate"), search.dueFrom()));
+        if (search.dueTo() != null) where.add(cb.lessThanOrEqualTo(t.<LocalDate>get("dueDate"), search.dueTo()));
+        if (ids != null) where.add(t.get("id").in(ids));
+
+        query.select(cb.construct(TaskSummary.class, t.get("id"), t.get("title"), t.get("dueDate"), t.get("priority"), t.get("completed")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(sort == TaskPage.Sort.PRIORITY ? byPriority(cb, t) : byDueDate(cb, t));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private static List<Order> byDueDate(CriteriaBuilder cb, Root<Task> t) {
+        return List.of(cb.asc(cb.selectCase().when(cb.isNull(t.get("dueDate")), 1).otherwise(0)),
+                cb.asc(t.get("dueDate")), cb.asc(t.get("id")));
+    }
+
+    private static List<Order> byPriority(CriteriaBuilder cb, Root<Task> t) {
+        return List.of(cb.asc(cb.selectCase(t.<Task.Priority>get("priority"))
+                        .when(Task.Priority.HIGH, 0).when(Task.Priority.MEDIUM, 1).when(Task.Priority.LOW, 2).otherwise(3)),
+                cb.asc(t.get("id")));
+    }
+}
@@ -0,0 +1,59 @@
+package com.todoapp.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+
+/**
+ * Source of {@code Task.version}. Versions are handed out in call order, but the transactions
+ * writing them commit in any order: a reader can see version 12 while 11 is still uncommitted.
+ * A delta-sync token that moved past 11 then would never deliver that row, so tokens are capped at
+ * {@link #stable()}, the highest version below every one still in flight.
+ * <p>
+ * A version taken inside a transaction is in flight until that transaction completes, by commit
+ * or rollback. One taken outside a transaction is not tracked, so callers that write take theirs
+ * inside the transaction that writes it.
+ */
+final class ChangeClock {
+
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long last;
+
+    /** Moves the clock forward to at least {@code version}; never backwards. */
+    synchronized void advanceTo(long version) {
+        last = Math.max(last, version);
+    }
+
+    /** The latest version handed out, committed or not. */
+    synchronized long current() {
+        return last;
+    }
+
+    /** Every version up to this one is committed or rolled back. */
+    synchronized long stable() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    long next() {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        long version;
+        synchronized (this) {
+            version = ++last;
+            if (inTransaction) inFlight.add(version);
+        }
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(version);
+                }
+            });
+        }
+        return version;
+    }
+
+    private synchronized void release(long version) {
+        inFlight.remove(version);
+    }
+}
@@ -0,0 +1,64 @@
+package com.todoapp.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-region hit ratios for Hibernate's second-level cache. Needs
+ * {@code hibernate.generate_statistics}; without it every region reports zero.
+ */
+@Service
+public class EntityCacheStats {
+
+    /** Counters for one cache region since startup (or the last {@link #clear()}). */
+    public record RegionStats(long hits, long misses, long puts) {
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private final Statistics statistics;
+
+    public EntityCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /** Region name to counters, sorted by name. */
+    public Map<String, RegionStats> getRegionStats() {
+        Map<String, RegionStats> regions = new LinkedHashMap<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(name -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.put(name, new RegionStats(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        });
+        return regions;
+    }
+
+    /** Counters for one region, or null if Hibernate has not created it (query regions appear on first use). */
+    public RegionStats getRegionStats(String region) {
+        try {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            return stats == null ? null : new RegionStats(stats.getHitCount(), stats.getMissCount(), stats.getPutCount());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** JDBC statements prepared since startup, for comparing cached against uncached runs. */
+    public long getStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,166 @@
+package com.todoapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.todoapp.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class JwtService {
+
+    /** Claim holding the user's id, so a request can be authenticated without loading the user. */
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+
+    // Verified token -> claims, dropped as soon as the token itself expires
+    private final Cache<String, Claims> verifiedTokens;
+
+    // Revoked token id (jti) -> expiry; an entry only has to outlive the token it blocks
+    private final Cache<String, Date> revokedIds;
+
+    public JwtService(@Value("${jwt.secret}") String jwtSecret,
+                      @Value("${jwt.expiration}") long jwtExpiration,
+                      @Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+                        return remainingNanos(claims);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.revokedIds = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, Date>() {
+                    @Override
+                    public long expireAfterCreate(String id, Date expiration, long currentTime) {
+                        return remainingNanos(expiration);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, Date expiration, long currentTime, long currentDuration) {
+                        return remainingNanos(expiration);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, Date expiration, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // ---------------- Issue ----------------
+    public String generateToken(User user) {
+        return generateToken(user.getUsername(), user.getId());
+    }
+
+    /** Token without a user id claim; the filter then resolves the principal by username. */
+    public String generateToken(String username) {
+        return generateToken(username, null);
+    }
+
+    private String generateToken(String username, Long userId) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+
+        JwtBuilder builder = Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(username)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate);
+        if (userId != null) builder.claim(USER_ID_CLAIM, userId);
+        return builder.signWith(signingKey).compact();
+    }
+
+    // ---------------- Verify ----------------
+    /**
+     * Returns the claims of a valid token, verifying the signature only the first time
+     * a token is seen. Throws {@link JwtException} for invalid, expired or revoked tokens.
+     */
+    public Claims verify(String token) {
+        Claims claims = verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(token, claims);
+            }
+        }
+
+        if (claims.getId() != null && revokedIds.getIfPresent(claims.getId()) != null) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+
+    // ---------------- Revoke ----------------
+    /** Blocks a still-valid access token until it expires. Invalid or expired tokens are ignored. */
+    public void revoke(String token) {
+        try {
+            Claims claims = verify(token);
+            if (claims.getId() != null && claims.getExpiration() != null) {
+                revokedIds.put(claims.getId(), claims.getExpiration());
+                verifiedTokens.invalidate(token);
+            }
+        } catch (JwtException e) {
+            // nothing left to revoke
+        }
+    }
+
+    public long getRevokedCount() {
+        return revokedIds.estimatedSize();
+    }
+
+    public String getUsername(String token) {
+        return verify(token).getSubject();
+    }
+
+    public CacheStats getCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    public long getCacheSize() {
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static long remainingNanos(Claims claims) {
+        return remainingNanos(claims.getExpiration());
+    }
+
+    private static long remainingNanos(Date expiration) {
+        long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+}
@@ -0,0 +1,70 @@
+package com.todoapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets for one rate-limit rule, one bucket per key (a user id or a client address).
+ * A bucket holds up to {@code capacity} tokens and regains one every {@code refillInterval}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong}: the time at which it will be full again (the GCRA
+ * form of a token bucket). Taking a token is one compare-and-set that moves that time forward by
+ * one interval, so refill is implied by the clock rather than done by a timer, and no lock is held.
+ * A bucket left alone for {@code capacity * refillInterval} is full, which is exactly a new
+ * bucket, so idle keys are dropped after that long without changing any decision. Past
+ * {@code maxKeys} the least used buckets are dropped early, which can only let a request through.
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Bucket times are kept relative to this so a new bucket (0) is always full
+    private final long origin = System.nanoTime();
+    private final Cache<Object, AtomicLong> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimiter(long capacity, Duration refillInterval, long maxKeys) {
+        if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a capacity and a refill interval above zero");
+        }
+        this.intervalNanos = refillInterval.toNanos();
+        this.burstNanos = Math.multiplyExact(capacity, intervalNanos);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofNanos(Math.max(burstNanos, 1_000_000_000L)))
+                .maximumSize(maxKeys)
+                .build();
+    }
+
+    /** Takes a token for {@code key}: 0 if one was there, otherwise the nanoseconds until one will be. */
+    public long tryAcquire(Object key) {
+        return tryAcquire(key, System.nanoTime() - origin);
+    }
+
+    long tryAcquire(Object key, long now) {
+        AtomicLong bucket = buckets.get(key, k -> new AtomicLong());
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) return 0;
+        }
+    }
+
+    // ---------------- Metrics ----------------
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Keys with a bucket in memory, full ones not yet evicted included. */
+    public long getKeyCount() {
+        return buckets.estimatedSize();
+    }
+}
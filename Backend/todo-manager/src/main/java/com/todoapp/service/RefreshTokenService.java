@@ -0,0 +1,108 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.RefreshToken;
+import com.todoapp.entity.User;
+import com.todoapp.repository.RefreshTokenRepository;
+import com.todoapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens so returning clients get new access tokens without a
+ * password check. Every refresh replaces the token; replaying an already rotated token is treated
+ * as theft and revokes the whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    /** A freshly issued refresh token together with the user it belongs to. */
+    public record Issued(User user, String refreshToken) {}
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               @Value("${jwt.refresh.ttl:30d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.ttl = ttl;
+    }
+
+    // ---------------- Issue ----------------
+    /** Starts a new token family, e.g. after a password login. */
+    @Transactional
+    public String issue(User user) {
+        return create(user.getId(), UUID.randomUUID().toString());
+    }
+
+    // ---------------- Rotate ----------------
+    /**
+     * Exchanges a refresh token for its successor. Empty when the token is unknown, expired or
+     * already used; in the last case the family is revoked as well.
+     */
+    @Transactional
+    public Optional<Issued> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) return Optional.empty();
+        Optional<RefreshToken> found = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (found.isEmpty()) return Optional.empty();
+
+        RefreshToken current = found.get();
+        Instant now = Instant.now();
+        if (current.getExpiresAt().isBefore(now)) return Optional.empty();
+        if (refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            refreshTokenRepository.deleteFamily(current.getFamilyId());
+            return Optional.empty();
+        }
+
+        return userRepository.findById(current.getUserId())
+                .map(user -> new Issued(user, create(user.getId(), current.getFamilyId())));
+    }
+
+    // ---------------- Revoke ----------------
+    /** Revokes the token's whole family, e.g. on logout. Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) return;
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteFamily(token.getFamilyId()));
+    }
+
+    // ---------------- Expiry sweep ----------------
+    @Scheduled(fixedDelayString = "${jwt.refresh.sweep-interval:1h}", initialDelayString = "${jwt.refresh.sweep-interval:1h}")
+    @Transactional
+    public int sweepExpired() {
+        return refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), familyId, userId, Instant.now().plus(ttl)));
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
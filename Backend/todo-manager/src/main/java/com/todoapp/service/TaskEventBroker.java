@@ -0,0 +1,322 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskEvent;
+import com.todoapp.dto.TaskSummary;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans task changes out to every open {@code /api/tasks/stream} connection of the owning user.
+ * Each subscriber has a bounded send buffer; a subscriber that falls that far behind, or whose
+ * client stops reading long enough that one write blocks past {@code tasks.stream.send-timeout},
+ * is disconnected and can resume from its Last-Event-ID out of a small per-user replay ring.
+ * Buffers are drained on virtual threads, so a write stuck on a full socket holds no pooled thread
+ * and never delays other subscribers.
+ */
+@Service
+public class TaskEventBroker {
+
+    // Seeded from the clock so ids keep increasing across restarts and stale Last-Event-IDs never match
+    private final AtomicLong nextEventId = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final ConcurrentHashMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final LongAdder droppedStreams = new LongAdder();
+
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+    private final int bufferSize;
+    private final int replaySize;
+    private final int maxOpenStreams;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final long replayTtlNanos;
+
+    public TaskEventBroker(@Value("${tasks.stream.buffer-size:64}") int bufferSize,
+                           @Value("${tasks.stream.replay-size:256}") int replaySize,
+                           @Value("${tasks.stream.max-open:10000}") int maxOpenStreams,
+                           @Value("${tasks.stream.timeout:30m}") Duration timeout,
+                           @Value("${tasks.stream.heartbeat:15s}") Duration heartbeat,
+                           @Value("${tasks.stream.replay-ttl:10m}") Duration replayTtl,
+                           @Value("${tasks.stream.send-timeout:10s}") Duration sendTimeout) {
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.maxOpenStreams = maxOpenStreams;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.replayTtlNanos = replayTtl.toNanos();
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-stream-dispatch-", 0).factory());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemon("task-stream-heartbeat"));
+        this.heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        long stallCheck = Math.max(sendTimeout.toMillis() / 2, 100);
+        this.heartbeats.scheduleAtFixedRate(this::dropStalled, stallCheck, stallCheck, TimeUnit.MILLISECONDS);
+    }
+
+    // ---------------- Subscribe ----------------
+    /**
+     * Opens a stream for the user, first replaying events after {@code lastEventId} when it is given.
+     * If those events are no longer retained a single {@code reset} event tells the client to reload.
+     * Returns empty when the node already holds {@code tasks.stream.max-open} streams.
+     */
+    public Optional<SseEmitter> subscribe(Long userId, Long lastEventId) {
+        if (openStreams.incrementAndGet() > maxOpenStreams) {
+            openStreams.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(e -> unregister(subscriber));
+
+        channels.compute(userId, (id, channel) -> {
+            if (channel == null) channel = new Channel(nextEventId.get());
+            subscriber.offer(SseEmitter.event().comment("open").build());
+            if (lastEventId != null) {
+                List<TaskEvent> missed = channel.eventsAfter(lastEventId);
+                if (missed == null || missed.size() >= bufferSize) {
+                    subscriber.offer(SseEmitter.event().name("reset").data("").build());
+                } else {
+                    for (TaskEvent event : missed) subscriber.offer(toSse(event));
+                }
+            }
+            channel.subscribers.add(subscriber);
+            return channel;
+        });
+        return Optional.of(emitter);
+    }
+
+    // ---------------- Publish ----------------
+    /** Queues an event for the user's streams, after the surrounding transaction commits if there is one. */
+    public void publish(Long userId, TaskEvent.Type type, Long taskId, TaskSummary task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(userId, type, taskId, task);
+                }
+            });
+        } else {
+            deliver(userId, type, taskId, task);
+        }
+    }
+
+    private void deliver(Long userId, TaskEvent.Type type, Long taskId, TaskSummary task) {
+        // Users that have not streamed within the replay TTL have no channel, so nothing is retained for them
+        channels.computeIfPresent(userId, (id, channel) -> {
+            TaskEvent event = new TaskEvent(nextEventId.incrementAndGet(), type, taskId, task);
+            channel.append(event);
+            channel.fanOut(toSse(event));
+            return channel;
+        });
+    }
+
+    // ---------------- Metrics ----------------
+    public int getOpenStreamCount() {
+        return openStreams.get();
+    }
+
+    /** Streams closed because their send buffer overflowed or a write outlasted the send timeout. */
+    public long getDroppedStreamCount() {
+        return droppedStreams.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> {
+                channel.subscribers.forEach(Subscriber::close);
+                return null;
+            });
+        }
+        dispatcher.shutdown();
+    }
+
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("heartbeat").build();
+        long cutoff = System.nanoTime() - replayTtlNanos;
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> {
+                channel.fanOut(ping);
+                return channel.subscribers.isEmpty() && channel.lastActivity < cutoff ? null : channel;
+            });
+        }
+    }
+
+    // The blocked write itself only fails once the container's write timeout expires; the stream is
+    // dropped now so it stops buffering events, and its emitter completes after that write returns
+    private void dropStalled() {
+        long now = System.nanoTime();
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> {
+                for (Subscriber subscriber : channel.subscribers) {
+                    if (subscriber.isStalled(now)) channel.drop(subscriber);
+                }
+                return channel;
+            });
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        channels.computeIfPresent(subscriber.userId, (id, channel) -> {
+            channel.remove(subscriber);
+            return channel;
+        });
+        subscriber.release();
+    }
+
+    private static Set<ResponseBodyEmitter.DataWithMediaType> toSse(TaskEvent event) {
+        return SseEmitter.event()
+                .id(Long.toString(event.getId()))
+                .name(event.getType().name().toLowerCase())
+                .data(event, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // One per user; only touched inside channels.compute*, which serializes access per user
+    private final class Channel {
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final ArrayDeque<TaskEvent> replay = new ArrayDeque<>();
+        long floor;           // id of the newest event no longer retained
+        long lastId;          // id of the newest event published to this channel
+        long lastActivity = System.nanoTime();
+
+        Channel(long startId) {
+            this.floor = startId;
+            this.lastId = startId;
+        }
+
+        void append(TaskEvent event) {
+            if (replay.size() == replaySize) floor = replay.removeFirst().getId();
+            replay.addLast(event);
+            lastId = event.getId();
+            lastActivity = System.nanoTime();
+        }
+
+        // Events after the given id, or null when some of them have already been evicted
+        List<TaskEvent> eventsAfter(long id) {
+            if (id < floor || id > lastId) return null;
+            List<TaskEvent> missed = new ArrayList<>();
+            for (TaskEvent event : replay) {
+                if (event.getId() > id) missed.add(event);
+            }
+            return missed;
+        }
+
+        void fanOut(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(message)) drop(subscriber);
+            }
+        }
+
+        void drop(Subscriber subscriber) {
+            droppedStreams.increment();
+            remove(subscriber);
+            subscriber.close();
+        }
+
+        void remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            lastActivity = System.nanoTime();
+        }
+    }
+
+    // A single stream with its own bounded buffer, drained on the dispatcher by at most one thread at a time
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean released = new AtomicBoolean();
+        volatile boolean closed;
+        volatile long sendStarted;    // System.nanoTime() when the current write began, 0 between writes
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> message) {
+            if (closed) return true;
+            if (!buffer.offer(message)) return false;
+            if (draining.compareAndSet(false, true)) dispatcher.execute(this::drain);
+            return true;
+        }
+
+        void drain() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> message;
+                while (!closed && (message = buffer.poll()) != null) {
+                    sendStarted = System.nanoTime();
+                    try {
+                        emitter.send(message);
+                    } finally {
+                        sendStarted = 0;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStarted;
+            return !closed && started != 0 && now - started > sendTimeoutNanos;
+        }
+
+        // Called inside the channel lock, so completion is handed to the dispatcher
+        void close() {
+            if (closed) return;
+            closed = true;
+            buffer.clear();
+            dispatcher.execute(emitter::complete);
+        }
+
+        void release() {
+            closed = true;
+            if (released.compareAndSet(false, true)) openStreams.decrementAndGet();
+        }
+    }
+}
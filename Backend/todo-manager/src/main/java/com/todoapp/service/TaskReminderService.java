@@ -0,0 +1,240 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskDue;
+import com.todoapp.dto.TaskReminder;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fires a {@link TaskReminder} to every {@link TaskReminderSink} when a pending task's due date
+ * begins (less {@code tasks.reminders.lead}) and again when the day after it begins. Only moments
+ * still ahead are scheduled: a task written or loaded after one has passed gets no reminder for it.
+ * <p>
+ * Reminders are held in a {@link TimingWheel}, one entry per task. Once the app is ready the wheel
+ * is filled from the database in pages on the reminder thread; from then on {@link TaskService}
+ * reports every write as a before/after pair, applied after commit.
+ */
+@Service
+public class TaskReminderService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskReminderService.class);
+
+    private static final int REBUILD_PAGE = 10_000;
+
+    // Keeps start-of-day instants in epoch-millisecond range and epoch days in an int
+    private static final int MIN_YEAR = 1;
+    private static final int MAX_YEAR = 9999;
+
+    private final TaskRepository taskRepository;
+    private final ObjectProvider<TaskReminderSink> sinks;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final long leadMillis;
+    private final ZoneId zone;
+    private final ScheduledExecutorService ticker;
+    private final LongAdder fired = new LongAdder();
+
+    // Guarded by this
+    private final TimingWheel wheel;
+
+    // Tasks written while the startup rebuild runs; the rebuild must not overwrite them. Null once it is done.
+    private Set<Long> writtenDuringRebuild = new HashSet<>();
+
+    public TaskReminderService(TaskRepository taskRepository, ObjectProvider<TaskReminderSink> sinks,
+                               @Value("${tasks.reminders.enabled:true}") boolean enabled,
+                               @Value("${tasks.reminders.tick:1s}") Duration tick,
+                               @Value("${tasks.reminders.lead:0s}") Duration lead,
+                               @Value("${tasks.reminders.zone:}") String zone) {
+        this.taskRepository = taskRepository;
+        this.sinks = sinks;
+        this.enabled = enabled;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.leadMillis = lead.toMillis();
+        this.zone = zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        this.wheel = new TimingWheel(System.currentTimeMillis() / tickMillis, 1024);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-reminders");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ---------------- Startup ----------------
+    // Started once the app is ready, so the rebuild never delays startup; ticks queue up behind it
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) return;
+        ticker.execute(this::rebuild);
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Schedules every pending task due today or later; safe to run again, e.g. after a bulk load outside {@link TaskService}. */
+    void rebuild() {
+        long start = System.nanoTime();
+        LocalDate from = LocalDate.now(zone);
+        long afterId = 0;
+        long scheduled = 0;
+        synchronized (this) {
+            if (writtenDuringRebuild == null) writtenDuringRebuild = new HashSet<>();
+        }
+        try {
+            List<TaskDue> page;
+            do {
+                page = taskRepository.findPendingDue(afterId, from, PageRequest.of(0, REBUILD_PAGE));
+                synchronized (this) {
+                    for (TaskDue task : page) {
+                        boolean written = writtenDuringRebuild != null && writtenDuringRebuild.contains(task.id());
+                        if (!written && schedule(task.id(), task.userId(), task.dueDate())) scheduled++;
+                    }
+                }
+                if (!page.isEmpty()) afterId = page.get(page.size() - 1).id();
+            } while (page.size() == REBUILD_PAGE);
+            log.info("Task reminders rebuilt: {} scheduled in {} ms", scheduled, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Task reminder rebuild stopped after task {}; later tasks get reminders once written", afterId, e);
+        } finally {
+            synchronized (this) {
+                writtenDuringRebuild = null;
+            }
+        }
+    }
+
+    // ---------------- Incremental updates ----------------
+    /**
+     * Reschedules a task's reminder once the surrounding transaction commits. {@code before} is null
+     * for a creation, {@code after} for a deletion; writes that keep the due date and state are skipped.
+     */
+    public void record(Long userId, TaskSummary before, TaskSummary after) {
+        if (!enabled) return;
+        if (before != null && after != null && Objects.equals(before.getDueDate(), after.getDueDate())
+                && before.isCompleted() == after.isCompleted()) {
+            return;
+        }
+        Long taskId = after != null ? after.getId() : before.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, taskId, after);
+                }
+            });
+        } else {
+            apply(userId, taskId, after);
+        }
+    }
+
+    private synchronized void apply(Long userId, Long taskId, TaskSummary task) {
+        if (writtenDuringRebuild != null) writtenDuringRebuild.add(taskId);
+        if (task == null || task.isCompleted() || task.getDueDate() == null) {
+            wheel.cancel(taskId);
+        } else {
+            schedule(taskId, userId, task.getDueDate());
+        }
+    }
+
+    // Files the task's next moment still ahead of the wheel; false (and no entry) when both have passed
+    private boolean schedule(long taskId, long userId, LocalDate dueDate) {
+        if (dueDate.getYear() < MIN_YEAR || dueDate.getYear() > MAX_YEAR) {
+            wheel.cancel(taskId);
+            return false;
+        }
+        long dueTick = tickAt(dueDate, leadMillis);
+        if (dueTick > wheel.now()) return wheel.schedule(taskId, userId, tag(dueDate, TaskReminder.Type.DUE), dueTick);
+        return wheel.schedule(taskId, userId, tag(dueDate.plusDays(1), TaskReminder.Type.OVERDUE), tickAt(dueDate.plusDays(1), 0));
+    }
+
+    // First tick at or after the start of the day, less the lead
+    private long tickAt(LocalDate day, long lead) {
+        return Math.ceilDiv(day.atStartOfDay(zone).toInstant().toEpochMilli() - lead, tickMillis);
+    }
+
+    // The due date and reminder type packed into the wheel's int tag; OVERDUE carries the day after
+    private static int tag(LocalDate day, TaskReminder.Type type) {
+        return (int) day.toEpochDay() << 1 | type.ordinal();
+    }
+
+    // ---------------- Firing ----------------
+    private void tick() {
+        try {
+            advanceTo(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            // An exception would cancel the fixed-rate schedule
+            log.error("Task reminder tick failed", e);
+        }
+    }
+
+    /** Fires every reminder whose moment is at or before {@code epochMillis}, one tick at a time. */
+    void advanceTo(long epochMillis) {
+        long target = epochMillis / tickMillis;
+        List<TaskReminder> reminders = new ArrayList<>();
+        while (true) {
+            synchronized (this) {
+                if (wheel.now() >= target) return;
+                wheel.advance(wheel.now() + 1, (taskId, userId, tag) -> {
+                    TaskReminder.Type type = TaskReminder.Type.values()[tag & 1];
+                    LocalDate day = LocalDate.ofEpochDay(tag >> 1);
+                    LocalDate dueDate = type == TaskReminder.Type.DUE ? day : day.minusDays(1);
+                    reminders.add(new TaskReminder(type, userId, taskId, dueDate));
+                    if (type == TaskReminder.Type.DUE) schedule(taskId, userId, dueDate);
+                });
+            }
+            // Sinks run outside the lock so writes are never held up behind them
+            dispatch(reminders);
+            reminders.clear();
+        }
+    }
+
+    private void dispatch(List<TaskReminder> reminders) {
+        if (reminders.isEmpty()) return;
+        List<TaskReminderSink> targets = sinks.orderedStream().toList();
+        for (TaskReminder reminder : reminders) {
+            for (TaskReminderSink sink : targets) {
+                try {
+                    sink.remind(reminder);
+                } catch (RuntimeException e) {
+                    log.warn("Reminder sink {} failed for task {}", sink.getClass().getSimpleName(), reminder.taskId(), e);
+                }
+            }
+        }
+        fired.add(reminders.size());
+    }
+
+    // ---------------- Metrics ----------------
+    /** Tasks with a reminder still to fire. */
+    public synchronized int getScheduledCount() {
+        return wheel.size();
+    }
+
+    public long getFiredCount() {
+        return fired.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
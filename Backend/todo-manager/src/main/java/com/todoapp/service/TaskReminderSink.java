@@ -0,0 +1,12 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskReminder;
+
+/**
+ * Receives the reminders {@link TaskReminderService} fires. Every bean implementing this is called,
+ * in order, on the reminder thread; a sink that needs to do slow work should hand it off.
+ */
+public interface TaskReminderSink {
+
+    void remind(TaskReminder reminder);
+}
@@ -1,44 +1,764 @@
 package com.todoapp.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.dto.TaskBefore;
+import com.todoapp.dto.TaskChanges;
+import com.todoapp.dto.TaskEvent;
+import com.todoapp.dto.TaskImport;
+import com.todoapp.dto.TaskImportResult;
+import com.todoapp.dto.TaskOperation;
+import com.todoapp.dto.TaskOperationResult;
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskStats;
+import com.todoapp.dto.TaskSummary;
 import com.todoapp.entity.Task;
 import com.todoapp.entity.User;
 import com.todoapp.repository.TaskRepository;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
-    
+
+    private static final Logger log = LoggerFactory.getLogger(TaskService.class);
+
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 1000;
+    public static final int MAX_CHANGES = 1000;
+
+    // Most title-index candidates bound in one "in" list; with more, the user's matching rows are
+    // read in order instead, SEARCH_PAGE at a time, until enough titles pass the re-check
+    static final int MAX_SEARCH_IDS = 1000;
+    private static final int SEARCH_PAGE = 1000;
+
+    // Earliest due date a keyset page starts from
+    private static final LocalDate DUE_DATE_FLOOR = LocalDate.of(1, 1, 1);
+
+    // Priority buckets in display order; tasks without a priority come last
+    private static final Task.Priority[] PRIORITY_ORDER = { Task.Priority.HIGH, Task.Priority.MEDIUM, Task.Priority.LOW, null };
+
+    private static final List<Boolean> ALL_STATES = List.of(true, false);
+
+    private static final String TASK_LISTS = User.class.getName() + ".tasks";
+
     @Autowired
     private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskEventBroker eventBroker;
+
+    @Autowired
+    private TaskTitleIndex titleIndex;
+
+    @Autowired
+    private TaskStatsService taskStats;
+
+    @Autowired
+    private TaskReminderService reminders;
+
+    @Autowired
+    private TaskWriteBehind writeBehind;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Tombstones are kept this long for delta sync; older tokens get a full snapshot instead
+    @Value("${tasks.sync.tombstone-retention:30d}")
+    private Duration tombstoneRetention;
+
+    // Source of Task.version. The H2 store is embedded, so this JVM is its only writer; seeding from
+    // the clock keeps versions increasing across restarts of the in-memory store as well.
+    private final ChangeClock changeClock = new ChangeClock();
+
+    // User id -> changeClock value of that user's latest committed write; users without an entry
+    // have not written since startup and report bootVersion
+    private final ConcurrentHashMap<Long, Long> listVersions = new ConcurrentHashMap<>();
+    private long bootVersion;
+
+    @PostConstruct
+    void initChangeClock() {
+        changeClock.advanceTo(Math.max(taskRepository.findMaxVersion(), System.currentTimeMillis() * 1000));
+        bootVersion = changeClock.current();
+    }
+
+    /**
+     * Changes whenever one of the user's tasks does, without reading any task. Read it before
+     * loading a list: it is only bumped after the write commits, so it never runs ahead of the data.
+     */
+    public long getListVersion(User user) {
+        return listVersions.getOrDefault(user.getId(), bootVersion);
+    }
+
+    private void bumpListVersion(Long userId) {
+        long version = changeClock.next();
+        Runnable bump = () -> listVersions.merge(userId, version, Math::max);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
     
+    // ---------------- Per-user lists ----------------
+    // Served from the User.tasks collection cache, which is keyed by owner: an insert evicts only its
+    // owner's entry and an update only its own task's entry, so other users' lists stay cached.
+    // The collection holds live tasks only, so tombstones are never read here.
+    @Transactional(readOnly = true)
     public List<Task> getAllTasksForUser(User user) {
-        return taskRepository.findByUser(user);
+        return withPendingCompletions(user, ownTasks(user, null), null);
     }
-    
+
+    @Transactional(readOnly = true)
     public List<Task> getCompletedTasksForUser(User user) {
-        return taskRepository.findByUserAndCompleted(user, true);
+        return withPendingCompletions(user, ownTasks(user, true), true);
     }
-    
+
+    @Transactional(readOnly = true)
     public List<Task> getPendingTasksForUser(User user) {
-        return taskRepository.findByUserAndCompleted(user, false);
+        return withPendingCompletions(user, ownTasks(user, false), false);
     }
-    
+
+    private List<Task> ownTasks(User user, Boolean completed) {
+        User owner = entityManager.find(User.class, user.getId());
+        if (owner == null) return new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (Task task : owner.getTasks()) {
+            if (completed == null || task.isCompleted() == completed) tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Transactional
     public Task createTask(Task task) {
-        return taskRepository.save(task);
+        task.setDeleted(false);
+        task.setVersion(changeClock.next());
+        Task saved = taskRepository.save(task);
+        TaskSummary summary = TaskSummary.from(saved);
+        titleIndex.put(saved.getUser().getId(), saved.getId(), saved.getVersion(), saved.getTitle());
+        taskStats.record(saved.getUser().getId(), null, summary);
+        reminders.record(saved.getUser().getId(), null, summary);
+        bumpListVersion(saved.getUser().getId());
+        eventBroker.publish(saved.getUser().getId(), TaskEvent.Type.CREATED, saved.getId(), summary);
+        return saved;
     }
     
-    public Optional<Task> getTaskById(Long id) {
-        return taskRepository.findById(id);
+    // ---------------- Owner-scoped mutations ----------------
+    // Each is one statement that also returns the row as it was: no row means 404 and another user's
+    // row 403, without a second query. The statement bypasses Hibernate, so the task's cache entry
+    // (and on delete the owner's cached list) is evicted once the write commits.
+    @Transactional
+    public TaskOperationResult updateTask(Long id, User user, Task details) {
+        String priority = details.getPriority() == null ? null : details.getPriority().name();
+        long version = changeClock.next();
+        Optional<TaskBefore> row = taskRepository.updateDetails(id, user.getId(), details.getTitle(),
+                details.getDueDate(), priority, version);
+        if (!isOwn(row, user)) return refused(TaskOperation.Type.UPDATE, id, row);
+
+        TaskSummary before = summaryOf(row.get().toSummary(), user.getId());
+        TaskSummary after = new TaskSummary(id, details.getTitle(), details.getDueDate(), details.getPriority(),
+                before.isCompleted());
+        titleIndex.put(user.getId(), id, version, details.getTitle());
+        return recordChange(user, TaskOperation.Type.UPDATE, before, after);
     }
-    
-    public Task updateTask(Task task) {
-        return taskRepository.save(task);
+
+    // With write-behind on, the completion is acknowledged once logged, after commit; the row is
+    // written by a later flush. The row is read without a lock: a delete that commits before the
+    // flush wins, as the flush skips tombstones.
+    @Transactional
+    public TaskOperationResult completeTask(Long id, User user) {
+        if (writeBehind.isEnabled()) {
+            Optional<TaskBefore> row = taskRepository.findLive(id);
+            if (!isOwn(row, user)) return refused(TaskOperation.Type.COMPLETE, id, row);
+            TaskSummary before = summaryOf(row.get().toSummary(), user.getId());
+            writeBehind.recordAfterCommit(user.getId(), id, true);
+            return recordChange(user, TaskOperation.Type.COMPLETE, before, completed(before));
+        }
+
+        Optional<TaskBefore> row = taskRepository.markCompleted(id, user.getId(), changeClock.next());
+        if (!isOwn(row, user)) return refused(TaskOperation.Type.COMPLETE, id, row);
+        TaskSummary before = summaryOf(row.get().toSummary(), user.getId());
+        return recordChange(user, TaskOperation.Type.COMPLETE, before, completed(before));
     }
-    
-    public void deleteTask(Long id) {
-        taskRepository.deleteById(id);
+
+    @Transactional
+    public TaskOperationResult deleteTask(Long id, User user) {
+        long version = changeClock.next();
+        Optional<TaskBefore> row = taskRepository.markDeleted(id, user.getId(), version);
+        if (!isOwn(row, user)) return refused(TaskOperation.Type.DELETE, id, row);
+
+        titleIndex.remove(user.getId(), id, version);
+        return recordChange(user, TaskOperation.Type.DELETE, summaryOf(row.get().toSummary(), user.getId()), null);
+    }
+
+    private static boolean isOwn(Optional<TaskBefore> row, User user) {
+        return row.isPresent() && row.get().getUserId().equals(user.getId());
+    }
+
+    private static TaskOperationResult refused(TaskOperation.Type type, Long id, Optional<TaskBefore> row) {
+        return failure(0, type, id, row.isPresent() ? HttpStatus.FORBIDDEN : HttpStatus.NOT_FOUND, null);
+    }
+
+    private static TaskSummary completed(TaskSummary before) {
+        return new TaskSummary(before.getId(), before.getTitle(), before.getDueDate(), before.getPriority(), true);
+    }
+
+    private TaskOperationResult recordChange(User user, TaskOperation.Type type, TaskSummary before, TaskSummary after) {
+        Long id = before.getId();
+        evictAfterCommit(id, after == null ? user.getId() : null);
+        taskStats.record(user.getId(), before, after);
+        reminders.record(user.getId(), before, after);
+        bumpListVersion(user.getId());
+        eventBroker.publish(user.getId(), eventType(type), id, after);
+        return new TaskOperationResult(0, type, id, HttpStatus.OK.value(), after, null);
+    }
+
+    // Either id may be null
+    private void evictAfterCommit(Long taskId, Long listOwnerId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+                if (taskId != null) cache.evict(Task.class, taskId);
+                if (listOwnerId != null) cache.evictCollectionData(TASK_LISTS, listOwnerId);
+            }
+        });
+    }
+
+    // ---------------- Write-behind completions ----------------
+    // The stored summary with a completion toggle not yet flushed applied
+    private TaskSummary summaryOf(TaskSummary stored, Long userId) {
+        Boolean completed = writeBehind.pendingStates(userId).get(stored.getId());
+        if (completed == null || completed == stored.isCompleted()) return stored;
+        return new TaskSummary(stored.getId(), stored.getTitle(), stored.getDueDate(), stored.getPriority(), completed);
+    }
+
+    /**
+     * Applies the user's unflushed completion toggles to a task list. Overridden rows are detached
+     * first so the change never reaches the table; with a state filter, tasks toggled out of it are
+     * dropped and tasks toggled into it are loaded and appended.
+     */
+    private List<Task> withPendingCompletions(User user, List<Task> rows, Boolean completed) {
+        Map<Long, Boolean> pending = writeBehind.pendingStates(user.getId());
+        if (pending.isEmpty()) return rows;
+
+        List<Task> merged = new ArrayList<>(rows.size());
+        Set<Long> listed = new HashSet<>();
+        for (Task task : rows) {
+            listed.add(task.getId());
+            Boolean state = pending.get(task.getId());
+            if (state != null && state != task.isCompleted()) {
+                if (completed != null) continue;
+                entityManager.detach(task);
+                task.setCompleted(state);
+            }
+            merged.add(task);
+        }
+        if (completed != null) {
+            List<Long> toggledIn = pending.entrySet().stream()
+                    .filter(entry -> entry.getValue() == completed.booleanValue() && !listed.contains(entry.getKey()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (!toggledIn.isEmpty()) {
+                for (Task task : taskRepository.findOwnedByIds(toggledIn, user.getId())) {
+                    if (task.isCompleted() == completed) continue;
+                    entityManager.detach(task);
+                    task.setCompleted(completed);
+                    merged.add(task);
+                }
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Writes flushed completion toggles to their rows, each changed row with a new version so delta
+     * sync picks it up. Runs in a transaction of its own, so it is only called through the proxy, by
+     * {@link TaskWriteBehind}, which forgets the toggles once this returns. Toggles of deleted or
+     * foreign tasks, or matching the row already, are skipped.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int writeCompletions(List<TaskWriteBehind.Pending> pending) {
+        Map<Long, TaskWriteBehind.Pending> byTask = new HashMap<>();
+        for (TaskWriteBehind.Pending toggle : pending) byTask.merge(toggle.taskId(), toggle, (a, b) -> a.seq() > b.seq() ? a : b);
+        int written = 0;
+        for (Task task : taskRepository.findAllById(byTask.keySet())) {
+            TaskWriteBehind.Pending toggle = byTask.get(task.getId());
+            if (task.isDeleted() || task.getUser().getId() != toggle.userId() || task.isCompleted() == toggle.completed()) continue;
+            task.setCompleted(toggle.completed());
+            task.setVersion(changeClock.next());
+            written++;
+        }
+        return written;
+    }
+
+    // Flushes the user's toggles before a batch reads their rows. The flush commits on its own; if it
+    // fails the toggles stay pending for the next flush and the caller's transaction carries on.
+    private void writePendingCompletions(User user) {
+        try {
+            writeBehind.flush(user.getId());
+        } catch (RuntimeException e) {
+            log.warn("Could not flush pending completions of user {} before a batch", user.getId(), e);
+        }
+    }
+
+    public TaskStats getStats(User user) {
+        return taskStats.getStats(user.getId());
+    }
+
+    // ---------------- Search ----------------
+    /**
+     * Returns up to {@code limit} of the user's tasks matching every predicate in {@code search},
+     * ordered like the keyset pages. Title text is resolved through {@link TaskTitleIndex} and each
+     * candidate's title re-checked here; the other predicates, the ordering and the limit run in the database.
+     */
+    public List<TaskSummary> searchTasks(User user, TaskSearch search, TaskPage.Sort sort, int limit) {
+        writeBehind.flush(user.getId());
+        int max = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Text without a single word (blank, or only punctuation) is no text filter at all
+        if (TaskTitleIndex.tokenize(search.text()).length == 0) {
+            return taskRepository.search(user.getId(), search, null, sort, PageRequest.of(0, max));
+        }
+
+        Set<Long> candidates = titleIndex.search(user.getId(), search.text());
+        if (candidates.isEmpty()) return new ArrayList<>();
+        Collection<Long> ids = candidates.size() <= MAX_SEARCH_IDS ? candidates : null;
+        int pageSize = ids == null ? SEARCH_PAGE : max;
+        // Rows arrive in order, so the first ones to pass the title check are the result; a stale
+        // candidate failing it costs another page only in the rare case the page was full
+        List<TaskSummary> matches = new ArrayList<>();
+        for (int page = 0; matches.size() < max; page++) {
+            List<TaskSummary> rows = taskRepository.search(user.getId(), search, ids, sort, PageRequest.of(page, pageSize));
+            for (TaskSummary task : rows) {
+                if (matches.size() < max && TaskTitleIndex.matches(task.getTitle(), search.text())) matches.add(task);
+            }
+            if (rows.size() < pageSize) break;
+        }
+        return matches;
+    }
+
+    // ---------------- Delta sync ----------------
+    /**
+     * Returns the user's tasks written after {@code token}, tombstones included, oldest change first.
+     * Without a token, with one this store never issued, or with one older than the tombstone
+     * retention (whose deletions may have been purged), the response is a full snapshot.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public TaskChanges getChanges(User user, String token) {
+        writeBehind.flush(user.getId());
+        long since = decodeSyncToken(token);
+        // Taken before the read: rows may commit out of version order, and the token must stay
+        // below any version still in flight or the client would never be sent that row
+        long stable = changeClock.stable();
+        boolean full = since < syncFloor() || since > changeClock.current();
+        PageRequest limit = PageRequest.of(0, MAX_CHANGES + 1);
+        List<Task> rows = full
+                ? taskRepository.findLiveChangedSince(user.getId(), 0L, limit)
+                : taskRepository.findChangedSince(user.getId(), since, limit);
+
+        boolean hasMore = rows.size() > MAX_CHANGES;
+        if (hasMore) rows = rows.subList(0, MAX_CHANGES);
+
+        List<TaskSummary> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        for (Task task : rows) {
+            if (task.isDeleted()) deleted.add(task.getId());
+            else changed.add(TaskSummary.from(task));
+        }
+
+        // An empty delta keeps the caller's position. An empty snapshot starts from the user's latest
+        // stored version, not the clock: the reactive app versions a user's writes just above that, so a
+        // token never passes them. Rows above the stable version are sent again, which clients apply idempotently.
+        long next = !rows.isEmpty() ? Math.min(rows.get(rows.size() - 1).getVersion(), stable)
+                : full ? Math.min(stable, taskRepository.findMaxVersion(user.getId())) : since;
+        return new TaskChanges(changed, deleted, encodeSyncToken(next), full, hasMore);
+    }
+
+    // Versions start from the wall clock in microseconds and a burst only pushes them ahead of it, so a
+    // version below this one was written more than tombstoneRetention ago
+    private long syncFloor() {
+        return (System.currentTimeMillis() - tombstoneRetention.toMillis()) * 1000;
+    }
+
+    /**
+     * Drops tombstones older than the retention. Tokens from before then already get a full snapshot,
+     * so no client still needs them. The bulk delete drops the cached Task rows and lists once per run.
+     */
+    @Scheduled(fixedDelayString = "${tasks.sync.purge-interval:1h}", initialDelayString = "${tasks.sync.purge-interval:1h}")
+    @Transactional
+    public int purgeTombstones() {
+        return taskRepository.deleteTombstonesBefore(syncFloor());
+    }
+
+    private static String encodeSyncToken(long version) {
+        String raw = "sync|" + version;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // -1 when no token was given
+    private static long decodeSyncToken(String token) {
+        if (token == null || token.isEmpty()) return -1L;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith("sync|")) throw new IllegalArgumentException("Not a sync token");
+            long version = Long.parseLong(raw.substring("sync|".length()));
+            if (version < 0) throw new IllegalArgumentException("Negative version");
+            return version;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+
+    // ---------------- Batch operations ----------------
+    /**
+     * Applies a mixed list of operations in one transaction. Ownership of every referenced task
+     * is resolved up front with one set-based query; inserts and updates (deletes included, as
+     * tombstones) are flushed as JDBC batches at commit.
+     */
+    @Transactional
+    public List<TaskOperationResult> applyBatch(User user, List<TaskOperation> operations) {
+        writePendingCompletions(user);
+        Set<Long> referencedIds = new HashSet<>();
+        for (TaskOperation operation : operations) {
+            if (operation.getOp() != TaskOperation.Type.CREATE && operation.getId() != null) {
+                referencedIds.add(operation.getId());
+            }
+        }
+
+        Map<Long, Task> owned = new HashMap<>();
+        Set<Long> foreign = new HashSet<>();
+        if (!referencedIds.isEmpty()) {
+            for (Task task : taskRepository.findOwnedByIds(referencedIds, user.getId())) {
+                owned.put(task.getId(), task);
+            }
+            if (owned.size() < referencedIds.size()) {
+                Set<Long> missing = new HashSet<>(referencedIds);
+                missing.removeAll(owned.keySet());
+                foreign.addAll(taskRepository.findExistingIds(missing));
+            }
+        }
+
+        List<TaskOperationResult> results = new ArrayList<>(operations.size());
+        List<Task> created = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            TaskOperation operation = operations.get(i);
+            TaskOperation.Type type = operation.getOp();
+            if (type == null) {
+                results.add(failure(i, null, operation.getId(), HttpStatus.BAD_REQUEST, "Missing op"));
+                continue;
+            }
+            if ((type == TaskOperation.Type.CREATE || type == TaskOperation.Type.UPDATE) && operation.getTitle() == null) {
+                results.add(failure(i, type, operation.getId(), HttpStatus.BAD_REQUEST, "Title is required"));
+                continue;
+            }
+
+            if (type == TaskOperation.Type.CREATE) {
+                Task task = new Task(operation.getTitle(), operation.getDueDate(), operation.getPriority(), user);
+                task.setVersion(changeClock.next());
+                created.add(task);
+                results.add(null); // filled in once ids are assigned
+                continue;
+            }
+
+            Task task = operation.getId() == null ? null : owned.get(operation.getId());
+            if (task == null) {
+                HttpStatus status = foreign.contains(operation.getId()) ? HttpStatus.FORBIDDEN : HttpStatus.NOT_FOUND;
+                results.add(failure(i, type, operation.getId(), status, null));
+                continue;
+            }
+            TaskSummary before = TaskSummary.from(task);
+
+            switch (type) {
+                case UPDATE -> {
+                    task.setTitle(operation.getTitle());
+                    task.setDueDate(operation.getDueDate());
+                    task.setPriority(operation.getPriority());
+                }
+                case COMPLETE -> task.setCompleted(true);
+                case DELETE -> {
+                    owned.remove(task.getId());
+                    task.setDeleted(true);
+                }
+                default -> throw new IllegalStateException("Unhandled operation " + type);
+            }
+            task.setVersion(changeClock.next());
+            if (type == TaskOperation.Type.DELETE) titleIndex.remove(user.getId(), task.getId(), task.getVersion());
+            else if (type == TaskOperation.Type.UPDATE) titleIndex.put(user.getId(), task.getId(), task.getVersion(), task.getTitle());
+            TaskSummary after = type == TaskOperation.Type.DELETE ? null : TaskSummary.from(task);
+            taskStats.record(user.getId(), before, after);
+            reminders.record(user.getId(), before, after);
+            results.add(new TaskOperationResult(i, type, task.getId(), HttpStatus.OK.value(), after, null));
+        }
+
+        // Sequence-backed ids are assigned on persist, so results can be completed before the flush.
+        // Deletes only flag the managed rows as tombstones, so they flush with the other updates.
+        taskRepository.saveAll(created);
+
+        int next = 0;
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                Task task = created.get(next++);
+                titleIndex.put(user.getId(), task.getId(), task.getVersion(), task.getTitle());
+                TaskSummary summary = TaskSummary.from(task);
+                taskStats.record(user.getId(), null, summary);
+                reminders.record(user.getId(), null, summary);
+                results.set(i, new TaskOperationResult(i, TaskOperation.Type.CREATE, task.getId(),
+                        HttpStatus.OK.value(), summary, null));
+            }
+        }
+
+        if (results.stream().anyMatch(result -> result.getStatus() == HttpStatus.OK.value())) bumpListVersion(user.getId());
+        // Tombstoning is a plain update to Hibernate, so the owner's live-only list is evicted here
+        if (results.stream().anyMatch(result -> result.getOp() == TaskOperation.Type.DELETE
+                && result.getStatus() == HttpStatus.OK.value())) {
+            evictAfterCommit(null, user.getId());
+        }
+        for (TaskOperationResult result : results) {
+            if (result.getStatus() == HttpStatus.OK.value()) {
+                eventBroker.publish(user.getId(), eventType(result.getOp()), result.getId(), result.getTask());
+            }
+        }
+        return results;
+    }
+
+    private static TaskEvent.Type eventType(TaskOperation.Type op) {
+        return switch (op) {
+            case CREATE -> TaskEvent.Type.CREATED;
+            case UPDATE -> TaskEvent.Type.UPDATED;
+            case COMPLETE -> TaskEvent.Type.COMPLETED;
+            case DELETE -> TaskEvent.Type.DELETED;
+        };
+    }
+
+    private static TaskOperationResult failure(int index, TaskOperation.Type type, Long id, HttpStatus status, String message) {
+        return new TaskOperationResult(index, type, id, status.value(), null, message);
+    }
+
+    // ---------------- Export / import ----------------
+    /**
+     * Writes the user's tasks to {@code out} as NDJSON, one {@link TaskSummary} per line in id order,
+     * and returns the number written. Rows are read through a forward-only cursor and written as they
+     * arrive, so memory use does not depend on the number of tasks.
+     */
+    @Transactional(readOnly = true)
+    public long exportTasks(User user, OutputStream out) throws IOException {
+        Map<Long, Boolean> pending = writeBehind.pendingStates(user.getId());
+        ObjectWriter writer = objectMapper.writerFor(TaskSummary.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<TaskSummary> tasks = taskRepository.streamByUser(user.getId());
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+            for (Iterator<TaskSummary> it = tasks.iterator(); it.hasNext(); count++) {
+                TaskSummary task = it.next();
+                Boolean completed = pending.get(task.getId());
+                if (completed != null) {
+                    task = new TaskSummary(task.getId(), task.getTitle(), task.getDueDate(), task.getPriority(), completed);
+                }
+                writer.writeValue(json, task);
+                json.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Imports NDJSON task lines from {@code in} in one transaction, parsed a line at a time and
+     * inserted every {@link #MAX_BATCH_SIZE} tasks. A malformed line rolls the whole import back, so
+     * the result then reports nothing imported and where parsing stopped. Lines without a title are skipped.
+     */
+    @Transactional
+    public TaskImportResult importTasks(User user, InputStream in) throws IOException {
+        List<TaskImport> chunk = new ArrayList<>(MAX_BATCH_SIZE);
+        long imported = 0;
+        long skipped = 0;
+        try (MappingIterator<TaskImport> lines = objectMapper.readerFor(TaskImport.class).readValues(in)) {
+            while (lines.hasNextValue()) {
+                TaskImport line = lines.nextValue();
+                if (line.title() == null || line.title().isBlank()) {
+                    skipped++;
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == MAX_BATCH_SIZE) {
+                    imported += importTasks(user, chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            String error = e.getLocation() == null ? e.getOriginalMessage()
+                    : "Malformed input at line " + e.getLocation().getLineNr() + ": " + e.getOriginalMessage();
+            return new TaskImportResult(0, skipped, error);
+        }
+        imported += importTasks(user, chunk);
+        return new TaskImportResult(imported, skipped, null);
+    }
+
+    /**
+     * Inserts one chunk of an import (at most {@link #MAX_BATCH_SIZE} tasks) as new tasks of the user.
+     * Inserts are flushed as JDBC batches and the persistence context is cleared afterwards, so a
+     * request importing many chunks never holds more than one chunk of entities.
+     */
+    @Transactional
+    public int importTasks(User user, List<TaskImport> tasks) {
+        List<Task> created = new ArrayList<>(tasks.size());
+        for (TaskImport line : tasks) {
+            Task task = new Task(line.title(), line.dueDate(), line.priority(), user);
+            task.setCompleted(line.completed());
+            task.setVersion(changeClock.next());
+            created.add(task);
+        }
+        taskRepository.saveAll(created);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Task task : created) {
+            TaskSummary summary = TaskSummary.from(task);
+            titleIndex.put(user.getId(), task.getId(), task.getVersion(), task.getTitle());
+            taskStats.record(user.getId(), null, summary);
+            reminders.record(user.getId(), null, summary);
+            eventBroker.publish(user.getId(), TaskEvent.Type.CREATED, task.getId(), summary);
+        }
+        if (!created.isEmpty()) bumpListVersion(user.getId());
+        return created.size();
+    }
+
+    // ---------------- Keyset pagination ----------------
+    /**
+     * Returns one page of the user's tasks ordered by {@code (dueDate, id)} or {@code (priority, id)}.
+     * Tasks missing the sort key are listed after all others. {@code completed} may be null for all tasks.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to a different ordering
+     */
+    public TaskPage getTaskPage(User user, Boolean completed, TaskPage.Sort sort, String cursor, int size) {
+        writeBehind.flush(user.getId());
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Collection<Boolean> states = completed == null ? ALL_STATES : List.of(completed);
+        Cursor position = Cursor.decode(cursor, sort);
+
+        List<TaskSummary> items = sort == TaskPage.Sort.PRIORITY
+                ? fetchByPriority(user.getId(), states, position, pageSize + 1)
+                : fetchByDueDate(user.getId(), states, position, pageSize + 1);
+
+        if (items.size() <= pageSize) {
+            return new TaskPage(items, null);
+        }
+        items = items.subList(0, pageSize);
+        TaskSummary last = items.get(items.size() - 1);
+        String key = sort == TaskPage.Sort.PRIORITY
+                ? (last.getPriority() == null ? "" : last.getPriority().name())
+                : (last.getDueDate() == null ? "" : last.getDueDate().toString());
+        return new TaskPage(items, new Cursor(sort, key, last.getId()).encode());
+    }
+
+    private List<TaskSummary> fetchByDueDate(Long userId, Collection<Boolean> states, Cursor position, int limit) {
+        List<TaskSummary> items = new ArrayList<>();
+        boolean inUndatedTail = position != null && position.key.isEmpty();
+        if (!inUndatedTail) {
+            LocalDate after = position == null ? DUE_DATE_FLOOR : LocalDate.parse(position.key);
+            long afterId = position == null ? 0L : position.id;
+            items.addAll(taskRepository.findPageByDueDate(userId, states, after, afterId, PageRequest.of(0, limit)));
+        }
+        if (items.size() < limit) {
+            long afterId = inUndatedTail ? position.id : 0L;
+            items.addAll(taskRepository.findPageWithoutDueDate(userId, states, afterId, PageRequest.of(0, limit - items.size())));
+        }
+        return items;
+    }
+
+    private List<TaskSummary> fetchByPriority(Long userId, Collection<Boolean> states, Cursor position, int limit) {
+        List<TaskSummary> items = new ArrayList<>();
+        int bucket = 0;
+        long afterId = 0L;
+        if (position != null) {
+            Task.Priority current = position.key.isEmpty() ? null : Task.Priority.valueOf(position.key);
+            while (PRIORITY_ORDER[bucket] != current) bucket++;
+            afterId = position.id;
+        }
+        for (; bucket < PRIORITY_ORDER.length && items.size() < limit; bucket++, afterId = 0L) {
+            PageRequest page = PageRequest.of(0, limit - items.size());
+            Task.Priority priority = PRIORITY_ORDER[bucket];
+            items.addAll(priority == null
+                    ? taskRepository.findPageWithoutPriority(userId, states, afterId, page)
+                    : taskRepository.findPageByPriority(userId, states, priority, afterId, page));
+        }
+        return items;
+    }
+
+    // Position after the last row of a page: the sort key ("" when the row has none) and its id
+    private record Cursor(TaskPage.Sort sort, String key, long id) {
+
+        String encode() {
+            String raw = sort.name() + "|" + key + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token, TaskPage.Sort expectedSort) {
+            if (token == null || token.isEmpty()) return null;
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", -1);
+                TaskPage.Sort sort = TaskPage.Sort.valueOf(parts[0]);
+                if (parts.length != 3 || sort != expectedSort) {
+                    throw new IllegalArgumentException("Cursor does not match the requested sort");
+                }
+                if (!parts[1].isEmpty()) {
+                    if (sort == TaskPage.Sort.PRIORITY) Task.Priority.valueOf(parts[1]);
+                    else LocalDate.parse(parts[1]);
+                }
+                return new Cursor(sort, parts[1], Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.OverdueCount;
+import com.todoapp.dto.TaskCount;
+import com.todoapp.dto.TaskStats;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps per-user task counters so {@code /api/tasks/stats} never scans tasks. Counters are
+ * rebuilt from the database at startup and by the daily overdue rollover; in between,
+ * {@link TaskService} reports every write as a before/after pair applied after commit.
+ * A user whose counters stop adding up is recounted on the spot.
+ */
+@Service
+public class TaskStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private final TaskRepository taskRepository;
+    private final LongAdder userRecounts = new LongAdder();
+
+    // Replaced whole by each rollover, so readers see either the old day's counters or the new day's
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now(), new ConcurrentHashMap<>());
+
+    public TaskStatsService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    // ---------------- Read ----------------
+    public TaskStats getStats(Long userId) {
+        return snapshot.counters().getOrDefault(userId, Counters.EMPTY).toStats();
+    }
+
+    // ---------------- Incremental updates ----------------
+    /**
+     * Moves a task's contribution from {@code before} to {@code after} once the surrounding
+     * transaction commits. {@code before} is null for a creation, {@code after} for a deletion.
+     */
+    public void record(Long userId, TaskSummary before, TaskSummary after) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, before, after);
+                }
+            });
+        } else {
+            apply(userId, before, after);
+        }
+    }
+
+    private void apply(Long userId, TaskSummary before, TaskSummary after) {
+        Snapshot current = snapshot;
+        LocalDate day = current.day();
+        Counters next = current.counters().compute(userId, (id, counted) ->
+                (counted == null ? Counters.EMPTY : counted).add(before, -1, day).add(after, 1, day));
+        if (next.isConsistent()) return;
+
+        // A change was missed (e.g. two writers raced on one task); recount just this user outside
+        // compute, which would otherwise hold the map bin through the queries. The recount only goes
+        // in if no other write has replaced the counters meanwhile; that write is checked on its own.
+        userRecounts.increment();
+        current.counters().replace(userId, next, count(userId, day).getOrDefault(userId, Counters.EMPTY));
+    }
+
+    // ---------------- Rebuild / daily rollover ----------------
+    @PostConstruct
+    void rebuild() {
+        rollover(LocalDate.now());
+    }
+
+    /** Recounts every user at midnight, which moves tasks that fell due yesterday into overdue. */
+    @Scheduled(cron = "${tasks.stats.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        rollover(LocalDate.now());
+    }
+
+    void rollover(LocalDate day) {
+        long start = System.nanoTime();
+        Map<Long, Counters> rebuilt = count(null, day);
+        // A write committing while the counts run may be applied twice or not at all;
+        // the consistency check or the next rollover corrects it
+        snapshot = new Snapshot(day, new ConcurrentHashMap<>(rebuilt));
+        log.info("Task stats rebuilt for {} users in {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Users recounted because their counters stopped adding up. */
+    public long getUserRecountCount() {
+        return userRecounts.sum();
+    }
+
+    private Map<Long, Counters> count(Long userId, LocalDate day) {
+        Map<Long, Counters> result = new HashMap<>();
+        for (TaskCount group : taskRepository.countByState(userId)) {
+            result.merge(group.userId(), Counters.of(group), Counters::plus);
+        }
+        for (OverdueCount overdue : taskRepository.countOverdue(userId, day)) {
+            result.computeIfPresent(overdue.userId(), (id, current) -> current.withOverdue(overdue.count()));
+        }
+        return result;
+    }
+
+    // day: tasks due before it and still pending are overdue
+    private record Snapshot(LocalDate day, ConcurrentHashMap<Long, Counters> counters) {
+    }
+
+    // Immutable, so readers never see a half-applied change
+    private record Counters(long total, long completed, long overdue, long high, long medium, long low, long none) {
+
+        static final Counters EMPTY = new Counters(0, 0, 0, 0, 0, 0, 0);
+
+        static Counters of(TaskCount group) {
+            return EMPTY.addPriority(group.priority(), group.count())
+                    .plus(new Counters(group.count(), group.completed() ? group.count() : 0, 0, 0, 0, 0, 0));
+        }
+
+        Counters add(TaskSummary task, int sign, LocalDate today) {
+            if (task == null) return this;
+            boolean overdueTask = !task.isCompleted() && task.getDueDate() != null && task.getDueDate().isBefore(today);
+            return new Counters(total + sign, completed + (task.isCompleted() ? sign : 0), overdue + (overdueTask ? sign : 0),
+                    high, medium, low, none).addPriority(task.getPriority(), sign);
+        }
+
+        Counters addPriority(Task.Priority priority, long delta) {
+            if (priority == null) return new Counters(total, completed, overdue, high, medium, low, none + delta);
+            return switch (priority) {
+                case HIGH -> new Counters(total, completed, overdue, high + delta, medium, low, none);
+                case MEDIUM -> new Counters(total, completed, overdue, high, medium + delta, low, none);
+                case LOW -> new Counters(total, completed, overdue, high, medium, low + delta, none);
+            };
+        }
+
+        Counters plus(Counters other) {
+            return new Counters(total + other.total, completed + other.completed, overdue + other.overdue,
+                    high + other.high, medium + other.medium, low + other.low, none + other.none);
+        }
+
+        Counters withOverdue(long count) {
+            return new Counters(total, completed, count, high, medium, low, none);
+        }
+
+        boolean isConsistent() {
+            return completed >= 0 && overdue >= 0 && high >= 0 && medium >= 0 && low >= 0 && none >= 0
+                    && completed <= total && overdue <= total - completed && high + medium + low + none == total;
+        }
+
+        TaskStats toStats() {
+            return new TaskStats(total, completed, overdue, high, medium, low, none);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskEvent;
+import com.todoapp.dto.TaskReminder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/** Sends reminders to the owner's open {@code /api/tasks/stream} connections as {@code due} and {@code overdue} events. */
+@Service
+@ConditionalOnProperty(name = "tasks.reminders.stream", havingValue = "true", matchIfMissing = true)
+public class TaskStreamReminderSink implements TaskReminderSink {
+
+    private final TaskEventBroker eventBroker;
+
+    public TaskStreamReminderSink(TaskEventBroker eventBroker) {
+        this.eventBroker = eventBroker;
+    }
+
+    @Override
+    public void remind(TaskReminder reminder) {
+        TaskEvent.Type type = reminder.type() == TaskReminder.Type.DUE ? TaskEvent.Type.DUE : TaskEvent.Type.OVERDUE;
+        eventBroker.publish(reminder.userId(), type, reminder.taskId(), null);
+    }
+}
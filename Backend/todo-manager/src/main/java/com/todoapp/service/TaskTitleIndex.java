@@ -0,0 +1,167 @@
+package com.todoapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.todoapp.dto.TaskTitle;
+import com.todoapp.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Per-user inverted index from title words to task ids, used by {@link TaskService#searchTasks}.
+ * A user's index is built from the database on their first search and then kept current by
+ * {@link TaskService}'s writes; users that stop searching are evicted after a while.
+ * <p>
+ * Results are candidates only: callers re-check them against the database, so an entry that is
+ * briefly stale can add a false positive there but never hides a task.
+ */
+@Service
+public class TaskTitleIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final TaskRepository taskRepository;
+    private final Cache<Long, UserIndex> indexes;
+
+    public TaskTitleIndex(TaskRepository taskRepository,
+                          @Value("${tasks.search.max-indexed-users:10000}") long maxIndexedUsers,
+                          @Value("${tasks.search.idle-ttl:30m}") Duration idleTtl) {
+        this.taskRepository = taskRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxIndexedUsers)
+                .expireAfterAccess(idleTtl)
+                .build();
+    }
+
+    // ---------------- Lookup ----------------
+    /**
+     * Ids of the user's tasks whose title has a word starting with each word of {@code text}.
+     * Matching is case-insensitive; punctuation separates words.
+     */
+    public Set<Long> search(Long userId, String text) {
+        String[] words = tokenize(text);
+        if (words.length == 0) return Set.of();
+        return indexes.get(userId, this::build).search(words);
+    }
+
+    /** True when every word of {@code text} starts a word of {@code title}; used to re-check candidates. */
+    public static boolean matches(String title, String text) {
+        String[] titleWords = tokenize(title);
+        for (String word : tokenize(text)) {
+            if (Arrays.stream(titleWords).noneMatch(candidate -> candidate.startsWith(word))) return false;
+        }
+        return true;
+    }
+
+    // ---------------- Incremental updates (applied after the writing transaction commits) ----------------
+    public void put(Long userId, Long taskId, long version, String title) {
+        afterCommit(() -> update(userId, index -> index.put(taskId, version, tokenize(title))));
+    }
+
+    public void remove(Long userId, Long taskId, long version) {
+        afterCommit(() -> update(userId, index -> index.put(taskId, version, null)));
+    }
+
+    /** Number of users whose index is currently held in memory. */
+    public long getIndexedUserCount() {
+        return indexes.estimatedSize();
+    }
+
+    private UserIndex build(Long userId) {
+        UserIndex index = new UserIndex();
+        for (TaskTitle task : taskRepository.findTitles(userId)) {
+            index.put(task.id(), task.version(), tokenize(task.title()));
+        }
+        return index;
+    }
+
+    // Only users that already have an index are updated; an index built later reads the committed rows.
+    // computeIfPresent waits for an index that is still being built, so no write is lost in between.
+    private void update(Long userId, Consumer<UserIndex> change) {
+        indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            change.accept(index);
+            return index;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) return new String[0];
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    // One user's postings; guarded by its own monitor
+    private static final class UserIndex {
+        final TreeMap<String, Set<Long>> postings = new TreeMap<>();
+        final Map<Long, Entry> entries = new HashMap<>();
+
+        // words == null records a deletion; the version keeps late, out-of-order writes from undoing newer ones
+        synchronized void put(Long taskId, long version, String[] words) {
+            Entry previous = entries.get(taskId);
+            if (previous != null) {
+                if (previous.version > version) return;
+                if (previous.words != null) {
+                    for (String word : previous.words) {
+                        Set<Long> ids = postings.get(word);
+                        ids.remove(taskId);
+                        if (ids.isEmpty()) postings.remove(word);
+                    }
+                }
+            }
+            entries.put(taskId, new Entry(version, words));
+            if (words != null) {
+                for (String word : words) postings.computeIfAbsent(word, w -> new HashSet<>()).add(taskId);
+            }
+        }
+
+        synchronized Set<Long> search(String[] words) {
+            List<Set<Long>> perWord = new ArrayList<>(words.length);
+            for (String word : words) {
+                Set<Long> ids = new HashSet<>();
+                // Every indexed word that starts with this one
+                for (Set<Long> posting : postings.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                    ids.addAll(posting);
+                }
+                if (ids.isEmpty()) return Set.of();
+                perWord.add(ids);
+            }
+            perWord.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = perWord.get(0);
+            for (int i = 1; i < perWord.size() && !result.isEmpty(); i++) result.retainAll(perWord.get(i));
+            return result;
+        }
+    }
+
+    private record Entry(long version, String[] words) {}
+}
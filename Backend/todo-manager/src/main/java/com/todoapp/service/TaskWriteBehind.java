@@ -0,0 +1,385 @@
+package com.todoapp.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in write-behind for completion toggles ({@code tasks.write-behind.enabled}). A toggle is
+ * appended to a log on disk and put in a per-user overlay, and the request is answered from there;
+ * the latest toggle of each task is written to the {@code tasks} table by a periodic flush, many
+ * tasks to a transaction. {@link TaskService} merges the overlay into the task lists, summaries
+ * and exports, and writes a user's toggles first for the reads it cannot merge (pages, search,
+ * delta sync) and along with batch operations.
+ * <p>
+ * The log is split into segments. Each flush starts a new one, and once a flush has written every
+ * toggle it saw, the segments before it are deleted. At startup the remaining segments are read
+ * back into the overlay, so toggles acknowledged before a crash are flushed after it. Appends are
+ * written through to the file, which survives the process dying; {@code tasks.write-behind.sync}
+ * also forces each one to the device, which survives the machine losing power.
+ */
+@Service
+public class TaskWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    private static final String SEGMENT_PREFIX = "completions-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /** One acknowledged toggle; {@code seq} orders toggles of the same task. */
+    public record Pending(long userId, long taskId, boolean completed, long seq) {
+    }
+
+    private final ObjectProvider<TaskService> taskService;
+    private final boolean enabled;
+    private final Path logDir;
+    private final boolean sync;
+    private final long flushMillis;
+    private final int maxBatch;
+    private final int maxPending;
+    private final ScheduledExecutorService flusher;
+    private final LongAdder flushed = new LongAdder();
+
+    // User id -> task id -> latest toggle; each user's map is only touched inside compute on this map
+    private final ConcurrentHashMap<Long, Map<Long, Pending>> overlay = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    // Guards the segment, seq and the overlay insert, so a rotation never splits an append from its entry
+    private final Object logLock = new Object();
+    private FileChannel segment;
+    private long segmentIndex;
+    private boolean segmentWritten;
+    private long seq;
+
+    // One flush at a time, so an older toggle is never written after a newer one of the same task
+    private final Object flushLock = new Object();
+
+    public TaskWriteBehind(ObjectProvider<TaskService> taskService,
+                           @Value("${tasks.write-behind.enabled:false}") boolean enabled,
+                           @Value("${tasks.write-behind.log-dir:./data/write-behind}") String logDir,
+                           @Value("${tasks.write-behind.sync:false}") boolean sync,
+                           @Value("${tasks.write-behind.flush-interval:200ms}") Duration flushInterval,
+                           @Value("${tasks.write-behind.max-batch:" + TaskService.MAX_BATCH_SIZE + "}") int maxBatch,
+                           @Value("${tasks.write-behind.max-pending:100000}") int maxPending) {
+        this.taskService = taskService;
+        this.enabled = enabled;
+        this.logDir = Path.of(logDir);
+        this.sync = sync;
+        this.flushMillis = Math.max(1, flushInterval.toMillis());
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ---------------- Startup: replay what the last run acknowledged ----------------
+    @PostConstruct
+    void recover() {
+        if (!enabled) return;
+        int replayed = 0;
+        synchronized (logLock) {
+            try {
+                Files.createDirectories(logDir);
+                TreeMap<Long, Path> segments = segments();
+                for (Path file : segments.values()) {
+                    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                        Pending pending = parse(line);
+                        if (pending == null) {
+                            // A crash can leave the last line half written; it was never acknowledged
+                            log.warn("Skipping unreadable write-behind log line in {}: {}", file.getFileName(), line);
+                            continue;
+                        }
+                        seq = Math.max(seq, pending.seq());
+                        put(pending);
+                        replayed++;
+                    }
+                }
+                segmentIndex = segments.isEmpty() ? 0 : segments.lastKey();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read the write-behind log in " + logDir, e);
+            }
+            openNextSegment();
+        }
+        if (replayed > 0) log.info("Write-behind log replayed: {} toggles, {} tasks to flush", replayed, pendingCount.get());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!enabled) return;
+        flusher.scheduleWithFixedDelay(this::flushQuietly, 0, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // ---------------- Toggles ----------------
+    /**
+     * Logs the toggle and adds it to the overlay. False when it was not taken (write-behind is off,
+     * the overlay is full or the log could not be written); the caller then writes it through.
+     */
+    public boolean record(long userId, long taskId, boolean completed) {
+        if (!enabled || pendingCount.get() >= maxPending) return false;
+        synchronized (logLock) {
+            Pending pending = new Pending(userId, taskId, completed, seq + 1);
+            try {
+                ByteBuffer line = ByteBuffer.wrap(format(pending).getBytes(StandardCharsets.UTF_8));
+                while (line.hasRemaining()) segment.write(line);
+            } catch (IOException e) {
+                log.warn("Write-behind log append failed; writing task {} through", taskId, e);
+                // A partly written line must not run into the next one
+                try {
+                    openNextSegment();
+                } catch (IllegalStateException ignored) {
+                    // Appends keep failing and keep being written through
+                }
+                return false;
+            }
+            seq = pending.seq();
+            segmentWritten = true;
+            put(pending);
+        }
+        return true;
+    }
+
+    /**
+     * Records the toggle once the caller's transaction commits, as the task stream and stats are fed,
+     * so a rolled-back request leaves nothing to flush. A toggle {@link #record} does not take is
+     * written through in a transaction of its own.
+     */
+    public void recordAfterCommit(long userId, long taskId, boolean completed) {
+        Runnable apply = () -> {
+            if (!record(userId, taskId, completed)) {
+                taskService.getObject().writeCompletions(List.of(new Pending(userId, taskId, completed, 0)));
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // Keeps the newest toggle per task
+    private void put(Pending pending) {
+        overlay.compute(pending.userId(), (userId, tasks) -> {
+            if (tasks == null) tasks = new HashMap<>();
+            Pending previous = tasks.get(pending.taskId());
+            if (previous == null || previous.seq() < pending.seq()) {
+                tasks.put(pending.taskId(), pending);
+                if (previous == null) pendingCount.incrementAndGet();
+            }
+            return tasks;
+        });
+    }
+
+    /** The user's toggles not yet flushed, task id -> completed; empty for almost every user. */
+    public Map<Long, Boolean> pendingStates(Long userId) {
+        if (!enabled || overlay.isEmpty()) return Map.of();
+        Map<Long, Boolean> states = new HashMap<>();
+        overlay.computeIfPresent(userId, (id, tasks) -> {
+            for (Pending pending : tasks.values()) states.put(pending.taskId(), pending.completed());
+            return tasks;
+        });
+        return states;
+    }
+
+    /** The user's toggles not yet flushed, for writing them along with another change. */
+    public List<Pending> pending(Long userId) {
+        if (!enabled || !overlay.containsKey(userId)) return List.of();
+        List<Pending> copy = new ArrayList<>();
+        overlay.computeIfPresent(userId, (id, tasks) -> {
+            copy.addAll(tasks.values());
+            return tasks;
+        });
+        return copy;
+    }
+
+    // ---------------- Flushing ----------------
+    /** Writes the user's pending toggles now; a no-op for a user without any. */
+    public void flush(Long userId) {
+        if (!enabled || !overlay.containsKey(userId)) return;
+        synchronized (flushLock) {
+            write(pending(userId));
+        }
+    }
+
+    /** Writes every pending toggle, then drops the log segments that held only written ones. */
+    public void flush() {
+        if (!enabled) return;
+        synchronized (flushLock) {
+            long boundary;
+            synchronized (logLock) {
+                // Idle: no toggle since the last rotation and none left to write
+                if (!segmentWritten && overlay.isEmpty()) return;
+                openNextSegment();
+                boundary = segmentIndex;
+            }
+            // Everything logged before the rotation is in the overlay now, or was flushed already
+            List<Pending> all = new ArrayList<>();
+            for (Long userId : Set.copyOf(overlay.keySet())) all.addAll(pending(userId));
+            write(all);
+            deleteSegmentsBefore(boundary);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // The toggles stay in the overlay and the log; the next flush tries again
+            log.error("Write-behind flush failed; {} tasks pending", pendingCount.get(), e);
+        }
+    }
+
+    private void write(List<Pending> pending) {
+        for (int from = 0; from < pending.size(); from += maxBatch) {
+            List<Pending> chunk = pending.subList(from, Math.min(from + maxBatch, pending.size()));
+            taskService.getObject().writeCompletions(chunk);
+            forget(chunk);
+        }
+    }
+
+    /** Drops toggles that are in the table now; a newer toggle of the same task stays for the next flush. */
+    public void forget(List<Pending> written) {
+        for (Pending entry : written) {
+            overlay.computeIfPresent(entry.userId(), (userId, tasks) -> {
+                if (tasks.remove(entry.taskId(), entry)) pendingCount.decrementAndGet();
+                return tasks.isEmpty() ? null : tasks;
+            });
+        }
+        flushed.add(written.size());
+    }
+
+    // ---------------- Log segments ----------------
+    // Caller holds logLock
+    private void openNextSegment() {
+        try {
+            FileChannel next = FileChannel.open(logDir.resolve(SEGMENT_PREFIX + (segmentIndex + 1) + SEGMENT_SUFFIX),
+                    sync ? EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC)
+                            : EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            if (segment != null) segment.close();
+            segment = next;
+            segmentIndex++;
+            segmentWritten = false;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open a write-behind log segment in " + logDir, e);
+        }
+    }
+
+    private void deleteSegmentsBefore(long index) {
+        try {
+            for (Map.Entry<Long, Path> entry : segments().headMap(index).entrySet()) Files.deleteIfExists(entry.getValue());
+        } catch (IOException e) {
+            // Left in place they are only replayed again, which writes the same states
+            log.warn("Could not delete flushed write-behind log segments in {}", logDir, e);
+        }
+    }
+
+    private TreeMap<Long, Path> segments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(logDir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring {} in the write-behind log directory", name);
+                }
+            }
+        }
+        return segments;
+    }
+
+    // One toggle per line: seq, user id, task id, 1 for completed
+    private static String format(Pending pending) {
+        return pending.seq() + " " + pending.userId() + " " + pending.taskId() + " " + (pending.completed() ? 1 : 0) + "\n";
+    }
+
+    private static Pending parse(String line) {
+        String[] fields = line.split(" ");
+        if (fields.length != 4 || !(fields[3].equals("0") || fields[3].equals("1"))) return null;
+        try {
+            return new Pending(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3].equals("1"), Long.parseLong(fields[0]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ---------------- Metrics ----------------
+    /** Tasks with a toggle acknowledged but not yet in the table. */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public long getFlushedCount() {
+        return flushed.sum();
+    }
+
+    // Runs before any bean is destroyed, so a clean shutdown leaves nothing to replay
+    @EventListener(ContextClosedEvent.class)
+    void drain() {
+        if (!enabled) return;
+        flusher.shutdownNow();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Final write-behind flush failed; {} tasks will be replayed from the log", pendingCount.get(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        synchronized (logLock) {
+            try {
+                if (segment != null) segment.close();
+            } catch (IOException e) {
+                log.warn("Closing the write-behind log failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.todoapp.service;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel keyed by a long id, for {@link TaskReminderService}. Six levels of 64
+ * slots cover 2^36 ticks; an entry is filed on the lowest level whose span covers its delay and
+ * moves down a level each time the level above reaches its slot. Scheduling, rescheduling and
+ * cancelling are O(1); advancing costs O(1) per tick plus the entries it moves or expires.
+ * <p>
+ * Entries are not objects. They are slots in parallel primitive arrays that are linked into
+ * per-slot circular lists, with an open-addressing id index alongside: about 60 bytes per entry.
+ * Not thread-safe.
+ */
+final class TimingWheel {
+
+    /** Receives expired entries; it may schedule new entries from the callback. */
+    interface Expiry {
+        void expired(long key, long owner, int tag);
+    }
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 6;
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    // Nodes 0..HEADS-1 are the list sentinels of the slots, level-major
+    private static final int HEADS = LEVELS * SLOTS;
+    private static final int NIL = -1;
+
+    private long[] keys;
+    private long[] owners;
+    private long[] deadlines;
+    private int[] tags;
+    private int[] next;
+    private int[] prev;
+    private int allocated = HEADS;
+    private int free = NIL;
+    private int size;
+
+    private final KeyIndex index;
+    private long now;
+
+    TimingWheel(long now, int initialCapacity) {
+        int capacity = HEADS + Math.max(16, initialCapacity);
+        this.keys = new long[capacity];
+        this.owners = new long[capacity];
+        this.deadlines = new long[capacity];
+        this.tags = new int[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        for (int head = 0; head < HEADS; head++) {
+            next[head] = head;
+            prev[head] = head;
+        }
+        this.index = new KeyIndex(initialCapacity);
+        this.now = now;
+    }
+
+    /** The last tick the wheel has advanced to. */
+    long now() {
+        return now;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Files {@code key} to expire at tick {@code deadline}, replacing any entry it already has.
+     * A deadline at or before {@link #now()} cannot be met: the key is removed and false returned.
+     */
+    boolean schedule(long key, long owner, int tag, long deadline) {
+        int node = index.get(key);
+        if (deadline <= now) {
+            if (node != NIL) release(node);
+            return false;
+        }
+        if (node == NIL) {
+            node = allocate();
+            index.put(key, node);
+            size++;
+        } else {
+            unlink(node);
+        }
+        keys[node] = key;
+        owners[node] = owner;
+        tags[node] = tag;
+        deadlines[node] = deadline;
+        file(node);
+        return true;
+    }
+
+    /** Removes the key's entry; false when it had none. */
+    boolean cancel(long key) {
+        int node = index.get(key);
+        if (node == NIL) return false;
+        release(node);
+        return true;
+    }
+
+    /** Moves the wheel forward to {@code tick}, handing every entry whose deadline passes to {@code expiry}. */
+    void advance(long tick, Expiry expiry) {
+        while (now < tick) {
+            now++;
+            // A higher level's slot is redistributed when every level below it wraps around
+            for (int level = 1; level < LEVELS; level++) {
+                if ((now & ((1L << (SLOT_BITS * level)) - 1)) != 0) break;
+                cascade(level, (int) ((now >>> (SLOT_BITS * level)) & (SLOTS - 1)));
+            }
+            int head = (int) (now & (SLOTS - 1));
+            while (next[head] != head) {
+                int node = next[head];
+                long key = keys[node];
+                long owner = owners[node];
+                int tag = tags[node];
+                release(node);
+                expiry.expired(key, owner, tag);
+            }
+        }
+    }
+
+    // ---------------- Slot lists ----------------
+    private void file(int node) {
+        long delay = Math.min(deadlines[node] - now, MAX_DELAY);
+        long deadline = now + delay;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << (SLOT_BITS * (level + 1))) level++;
+        int slot = (int) ((deadline >>> (SLOT_BITS * level)) & (SLOTS - 1));
+        link(level * SLOTS + slot, node);
+    }
+
+    private void cascade(int level, int slot) {
+        int head = level * SLOTS + slot;
+        int node = next[head];
+        next[head] = head;
+        prev[head] = head;
+        while (node != head) {
+            int following = next[node];
+            file(node);
+            node = following;
+        }
+    }
+
+    private void link(int head, int node) {
+        int last = prev[head];
+        next[last] = node;
+        prev[node] = last;
+        next[node] = head;
+        prev[head] = node;
+    }
+
+    private void unlink(int node) {
+        next[prev[node]] = next[node];
+        prev[next[node]] = prev[node];
+    }
+
+    // ---------------- Node storage ----------------
+    private int allocate() {
+        if (free != NIL) {
+            int node = free;
+            free = next[node];
+            return node;
+        }
+        if (allocated == keys.length) grow();
+        return allocated++;
+    }
+
+    private void release(int node) {
+        unlink(node);
+        index.remove(keys[node]);
+        next[node] = free;
+        free = node;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = keys.length + (keys.length >> 1);
+        keys = Arrays.copyOf(keys, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+
+    // Linear probing on a power-of-two table kept at most half full; deletion shifts the run back
+    private static final class KeyIndex {
+        private long[] keys;
+        private int[] nodes;
+        private int count;
+
+        KeyIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected) * 2 - 1) << 1;
+            keys = new long[capacity];
+            nodes = new int[capacity];
+            Arrays.fill(nodes, NIL);
+        }
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); nodes[i] != NIL; i = (i + 1) & mask) {
+                if (keys[i] == key) return nodes[i];
+            }
+            return NIL;
+        }
+
+        void put(long key, int node) {
+            if ((count + 1) * 2 > keys.length) rehash(keys.length * 2);
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (nodes[i] != NIL && keys[i] != key) i = (i + 1) & mask;
+            if (nodes[i] == NIL) count++;
+            keys[i] = key;
+            nodes[i] = node;
+        }
+
+        void remove(long key) {
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (nodes[i] != NIL && keys[i] != key) i = (i + 1) & mask;
+            if (nodes[i] == NIL) return;
+            count--;
+            // Move later members of the probe run into the gap so lookups never stop early
+            int gap = i;
+            for (int j = (gap + 1) & mask; nodes[j] != NIL; j = (j + 1) & mask) {
+                int home = slot(keys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    nodes[gap] = nodes[j];
+                    gap = j;
+                }
+            }
+            nodes[gap] = NIL;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldNodes = nodes;
+            keys = new long[capacity];
+            nodes = new int[capacity];
+            Arrays.fill(nodes, NIL);
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldNodes[i] != NIL) put(oldKeys[i], oldNodes[i]);
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
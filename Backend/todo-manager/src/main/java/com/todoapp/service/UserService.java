@@ -1,24 +1,40 @@
 package com.todoapp.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.todoapp.entity.User;
 import com.todoapp.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    // Username -> user, so authenticated requests resolve their principal without a DB round-trip
+    private final Cache<String, User> userCache;
+    private final LongAdder identityLookups = new LongAdder();
+
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       @Value("${user.cache.ttl:10m}") Duration cacheTtl,
+                       @Value("${user.cache.max-size:10000}") long cacheMaxSize) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.userCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
     }
 
     // ---------------- Registration ----------------
@@ -32,26 +48,72 @@ public class UserService implements UserDetailsService {
 
         User user = new User();
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password)); // hash password with Spring Security
+        user.setPassword(passwordHasher.encode(password)); // hashed on the bounded BCrypt pool
         user.setEmail(email);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.put(saved.getUsername(), saved);
+        return saved;
+    }
+
+    // ---------------- Update / Delete ----------------
+    // The principal cache is evicted around the write: before it by the stored username, in case the
+    // username itself changes, and after it, in case a request re-cached the old row in between
+    public User updateUser(User user) {
+        userRepository.findById(user.getId())
+                .ifPresent(existing -> userCache.invalidate(existing.getUsername()));
+        userCache.invalidate(user.getUsername());
+        User saved = userRepository.save(user);
+        userCache.invalidate(saved.getUsername());
+        return saved;
+    }
+
+    public void deleteUser(User user) {
+        userCache.invalidate(user.getUsername());
+        userRepository.delete(user);
+        userCache.invalidate(user.getUsername());
     }
 
     // ---------------- Find by username ----------------
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return Optional.ofNullable(userCache.get(username, key -> {
+            identityLookups.increment();
+            return userRepository.findByUsername(key).orElse(null);
+        }));
+    }
+
+    // ---------------- Cache metrics ----------------
+    public CacheStats getCacheStats() {
+        return userCache.stats();
+    }
+
+    /** Number of times a principal had to be loaded from the database. */
+    public long getIdentityLookupCount() {
+        return identityLookups.sum();
     }
 
     // ---------------- Check password ----------------
+    /**
+     * Verifies on the hashing pool and, when the stored hash uses an outdated cost, re-hashes it
+     * in the background. Throws {@link PasswordHasher.BusyException} when hashing is saturated.
+     */
     public boolean checkPassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        String stored = user.getPassword();
+        boolean matches = passwordHasher.matches(rawPassword, stored);
+        if (matches && passwordHasher.needsRehash(stored)) {
+            passwordHasher.rehashInBackground(rawPassword, rehashed -> {
+                if (userRepository.updatePassword(user.getId(), stored, rehashed) > 0) {
+                    userCache.invalidate(user.getUsername());
+                }
+            });
+        }
+        return matches;
     }
 
     // ---------------- Spring Security: Load UserDetails ----------------
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return org.springframework.security.core.userdetails.User
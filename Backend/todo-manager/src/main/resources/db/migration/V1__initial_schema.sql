@@ -0,0 +1,23 @@
+create table users (
+    id bigint generated by default as identity primary key,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    email varchar(255) not null,
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create sequence tasks_seq start with 1 increment by 50;
+
+create table tasks (
+    id bigint not null primary key,
+    title varchar(255) not null,
+    due_date date,
+    priority varchar(16) check (priority in ('HIGH', 'MEDIUM', 'LOW')),
+    completed boolean not null,
+    user_id bigint,
+    constraint fk_tasks_user foreign key (user_id) references users (id)
+);
+
+create index idx_tasks_user_completed_due on tasks (user_id, completed, due_date);
+create index idx_tasks_user_priority on tasks (user_id, priority);
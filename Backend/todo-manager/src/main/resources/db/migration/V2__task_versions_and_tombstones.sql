@@ -0,0 +1,4 @@
+alter table tasks add column version bigint default 0 not null;
+alter table tasks add column deleted boolean default false not null;
+
+create index idx_tasks_user_version on tasks (user_id, version);
@@ -0,0 +1,13 @@
+create table refresh_tokens (
+    id bigint generated by default as identity primary key,
+    token_hash varchar(64) not null,
+    family_id varchar(36) not null,
+    user_id bigint not null,
+    expires_at timestamp(6) with time zone not null,
+    used_at timestamp(6) with time zone,
+    constraint fk_refresh_tokens_user foreign key (user_id) references users (id) on delete cascade
+);
+
+create unique index uk_refresh_tokens_hash on refresh_tokens (token_hash);
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
+create index idx_refresh_tokens_expires on refresh_tokens (expires_at);
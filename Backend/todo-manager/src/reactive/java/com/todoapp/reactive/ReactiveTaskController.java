@@ -0,0 +1,81 @@
+package com.todoapp.reactive;
+
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The task endpoints of {@link com.todoapp.controller.TaskController} that the reactive variant
+ * serves, with the same status codes and bodies. Listings are streamed as a JSON array as rows
+ * arrive, with demand from the connection's write side driving the reads.
+ * Keyset pages, search, stats, changes, the SSE stream, batch and export/import are servlet only.
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@CrossOrigin(origins = "http://localhost:3000")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    // ---------------- Full listings ----------------
+    @GetMapping
+    public Flux<TaskRow> getAllTasks(@AuthenticationPrincipal User user) {
+        return taskService.getAllTasksForUser(user);
+    }
+
+    @GetMapping("/completed")
+    public Flux<TaskRow> getCompletedTasks(@AuthenticationPrincipal User user) {
+        return taskService.getTasksForUser(user, true);
+    }
+
+    @GetMapping("/pending")
+    public Flux<TaskRow> getPendingTasks(@AuthenticationPrincipal User user) {
+        return taskService.getTasksForUser(user, false);
+    }
+
+    @PostMapping
+    public Mono<TaskRow> createTask(@RequestBody Task task, @AuthenticationPrincipal User user) {
+        return taskService.createTask(task, user);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskSummary>> updateTask(@PathVariable Long id, @RequestBody Task taskDetails,
+                                                        @AuthenticationPrincipal User user) {
+        return taskService.updateTask(id, user, taskDetails)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.defer(() -> this.<TaskSummary>missingOrForbidden(id)));
+    }
+
+    @PutMapping("/{id}/complete")
+    public Mono<ResponseEntity<TaskSummary>> markTaskComplete(@PathVariable Long id, @AuthenticationPrincipal User user) {
+        return taskService.completeTask(id, user)
+                .map(ResponseEntity::ok)
+                .switchIfEmpty(Mono.defer(() -> this.<TaskSummary>missingOrForbidden(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable Long id, @AuthenticationPrincipal User user) {
+        return taskService.deleteTask(id, user)
+                .flatMap(rows -> rows == 0 ? this.<Void>missingOrForbidden(id) : Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+
+    // Owner-scoped mutations touch no row when the task is missing or belongs to someone else
+    private <T> Mono<ResponseEntity<T>> missingOrForbidden(Long id) {
+        return taskService.taskExists(id)
+                .map(exists -> exists
+                        ? ResponseEntity.status(HttpStatus.FORBIDDEN).<T>build()
+                        : ResponseEntity.notFound().<T>build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.todoapp.reactive;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Same queries as {@link com.todoapp.repository.TaskRepository} for the endpoints the reactive
+ * variant serves. Owner-scoped updates match on id and user and report the rows they touched.
+ */
+public interface ReactiveTaskRepository extends ReactiveCrudRepository<TaskRow, Long> {
+
+    Flux<TaskRow> findByUserIdAndDeletedFalseOrderById(Long userId);
+
+    Flux<TaskRow> findByUserIdAndCompletedAndDeletedFalseOrderById(Long userId, boolean completed);
+
+    Mono<Boolean> existsByIdAndDeletedFalse(Long id);
+
+    @Query("select * from tasks where id = :id and user_id = :userId and deleted = false")
+    Mono<TaskRow> findOwned(Long id, Long userId);
+
+    // Hibernate allocates ids from the same sequence in blocks of 50 ending at the value it draws;
+    // a value drawn here is never inside such a block
+    @Query("select next value for tasks_seq")
+    Mono<Long> nextId();
+
+    @Query("select coalesce(max(version), 0) from tasks")
+    Mono<Long> findMaxVersion();
+
+    @Query("select coalesce(max(version), 0) from tasks where user_id = :userId")
+    Mono<Long> findMaxVersion(Long userId);
+
+    // ---------------- Owner-scoped mutations (0 when the task is missing or not the user's) ----------------
+    @Modifying
+    @Query("update tasks set title = :title, due_date = :dueDate, priority = :priority, version = :version "
+            + "where id = :id and user_id = :userId and deleted = false")
+    Mono<Integer> updateDetails(Long id, Long userId, String title, LocalDate dueDate, String priority, long version);
+
+    @Modifying
+    @Query("update tasks set completed = true, version = :version where id = :id and user_id = :userId and deleted = false")
+    Mono<Integer> markCompleted(Long id, Long userId, long version);
+
+    @Modifying
+    @Query("update tasks set deleted = true, version = :version where id = :id and user_id = :userId and deleted = false")
+    Mono<Integer> markDeleted(Long id, Long userId, long version);
+}
@@ -0,0 +1,101 @@
+package com.todoapp.reactive;
+
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task reads and owner-scoped writes for the reactive endpoints. Versions come from this app's own
+ * clock, which is not ordered against the servlet app's; each write instead goes above the user's
+ * latest stored version, the mark the servlet app's sync tokens never pass, so its delta sync
+ * still delivers the row. A write racing one from the servlet app for the same user can still be
+ * missed until the client's next full snapshot.
+ * <p>
+ * The servlet app's in-memory views (stats counters, title index, change stream, list ETags)
+ * are not told about these writes; they catch up on its next rebuild.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@DependsOnDatabaseInitialization // the change clock reads the tasks table at startup
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final R2dbcEntityTemplate template;
+
+    // Seeded like TaskService's clock: past any stored version and roughly in step with wall time
+    private final AtomicLong changeClock = new AtomicLong();
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository, R2dbcEntityTemplate template) {
+        this.taskRepository = taskRepository;
+        this.template = template;
+    }
+
+    // Runs once at startup, before the server accepts requests, so blocking is fine here
+    @PostConstruct
+    void initChangeClock() {
+        long stored = taskRepository.findMaxVersion().blockOptional().orElse(0L);
+        changeClock.set(Math.max(stored, System.currentTimeMillis() * 1000));
+    }
+
+    // ---------------- Listings (rows are emitted as they are read) ----------------
+    public Flux<TaskRow> getAllTasksForUser(User user) {
+        return taskRepository.findByUserIdAndDeletedFalseOrderById(user.getId());
+    }
+
+    public Flux<TaskRow> getTasksForUser(User user, boolean completed) {
+        return taskRepository.findByUserIdAndCompletedAndDeletedFalseOrderById(user.getId(), completed);
+    }
+
+    // Ids come from the sequence before insert, as Hibernate does it; save() would treat the row as an update
+    public Mono<TaskRow> createTask(Task task, User user) {
+        return Mono.zip(taskRepository.nextId(), nextVersion(user.getId()))
+                .map(idAndVersion -> new TaskRow(idAndVersion.getT1(), task.getTitle(), task.getDueDate(), task.getPriority(), task.isCompleted(),
+                        idAndVersion.getT2(), false, user.getId()))
+                .flatMap(template::insert);
+    }
+
+    // ---------------- Owner-scoped mutations (empty / 0 when no row matched) ----------------
+    @Transactional
+    public Mono<TaskSummary> updateTask(Long id, User user, Task details) {
+        String priority = details.getPriority() == null ? null : details.getPriority().name();
+        return nextVersion(user.getId())
+                .flatMap(version -> taskRepository.updateDetails(id, user.getId(), details.getTitle(), details.getDueDate(),
+                        priority, version))
+                .filter(rows -> rows > 0)
+                .flatMap(rows -> taskRepository.findOwned(id, user.getId()))
+                .map(TaskRow::toSummary);
+    }
+
+    @Transactional
+    public Mono<TaskSummary> completeTask(Long id, User user) {
+        return nextVersion(user.getId())
+                .flatMap(version -> taskRepository.markCompleted(id, user.getId(), version))
+                .filter(rows -> rows > 0)
+                .flatMap(rows -> taskRepository.findOwned(id, user.getId()))
+                .map(TaskRow::toSummary);
+    }
+
+    public Mono<Integer> deleteTask(Long id, User user) {
+        return nextVersion(user.getId()).flatMap(version -> taskRepository.markDeleted(id, user.getId(), version));
+    }
+
+    public Mono<Boolean> taskExists(Long id) {
+        return taskRepository.existsByIdAndDeletedFalse(id);
+    }
+
+    // Past this app's last version and every stored version of the user
+    private Mono<Long> nextVersion(Long userId) {
+        return taskRepository.findMaxVersion(userId)
+                .map(stored -> changeClock.accumulateAndGet(stored + 1, (last, floor) -> Math.max(last + 1, floor)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.todoapp.reactive;
+
+import com.todoapp.service.JwtService;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * WebFlux + R2DBC variant of the task endpoints, built with {@code -Preactive} and started with the
+ * {@code reactive} profile. It reads and writes the same schema as the servlet app and accepts its
+ * access tokens; registration, login and the remaining task endpoints stay on the servlet app.
+ * <p>
+ * The servlet app's component scan also reaches this package, so every bean here is conditional
+ * on a reactive web application.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import(JwtService.class)
+public class ReactiveTodoApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveTodoApplication.class).profiles(PROFILE).run(args);
+    }
+
+    // Tomcat is on the classpath too and would otherwise be picked for the reactive server
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
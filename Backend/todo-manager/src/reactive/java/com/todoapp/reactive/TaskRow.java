@@ -0,0 +1,28 @@
+package com.todoapp.reactive;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * A row of the {@code tasks} table as R2DBC maps it. Serializes like the servlet app's
+ * {@link Task}: the owner and the tombstone flag are not part of the JSON.
+ */
+@Table("tasks")
+public record TaskRow(@Id Long id,
+                      String title,
+                      LocalDate dueDate,
+                      Task.Priority priority,
+                      boolean completed,
+                      long version,
+                      @JsonIgnore boolean deleted,
+                      @JsonIgnore Long userId) {
+
+    public TaskSummary toSummary() {
+        return new TaskSummary(id, title, dueDate, priority, completed);
+    }
+}
@@ -0,0 +1,157 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.entity.User;
+import com.todoapp.reactive.ReactiveTodoApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.merge;
+import static com.todoapp.benchmark.BenchmarkFixture.percentile;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.seedTasks;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.taskId;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same workload against the servlet app (platform and virtual threads) and the reactive
+ * variant, all three serving one in-memory database, at 100, 1k and 10k concurrent clients. Each
+ * client alternates a full listing of its user's tasks with completing one of them. Reports
+ * throughput, p50/p99 latency, errors and how many platform threads the run added at its peak.
+ * <p>
+ * r2dbc-h2 runs the embedded engine on the calling thread, so here the reactive stack saves threads
+ * and connection queueing but cannot overlap database waits; against a networked database it can.
+ * Opt-in: {@code mvn -Preactive test -Dtest=ReactiveStackBenchmark -Dbench.reactive=true [-Dbench.reactive.seconds=N]}
+ */
+@EnabledIfSystemProperty(named = "bench.reactive", matches = "true")
+class ReactiveStackBenchmark {
+
+    private static final int[] CONCURRENCY = { 100, 1_000, 10_000 };
+    private static final long RUN_NANOS = Duration.ofSeconds(Integer.getInteger("bench.reactive.seconds", 20)).toNanos();
+    private static final int USERS = 100;
+    private static final int TASKS_PER_USER = 100;
+
+    @Test
+    void servletVersusReactive() throws Exception {
+        String database = "stacks-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+        Table table = new Table("stack", "clients", "req/s", "p50 ms", "p99 ms", "errors", "threads");
+        try (ConfigurableApplicationContext servlet = startServlet(null, database)) {
+            List<User> users = registerUsers(servlet, "stack", USERS);
+            long firstId = seedTasks(servlet.getBean(JdbcTemplate.class), users, TASKS_PER_USER);
+            String[] tokens = tokens(servlet, users);
+            try (ConfigurableApplicationContext virtual = startServlet("virtual-threads", database);
+                 ConfigurableApplicationContext reactive = startReactive(database)) {
+                // Reactive first: a servlet run leaves idle worker threads behind for a minute
+                String[][] stacks = {
+                        { "reactive", baseUrl(reactive) },
+                        { "servlet", baseUrl(servlet) },
+                        { "servlet-virtual", baseUrl(virtual) } };
+                for (String[] stack : stacks) {
+                    for (int clients : CONCURRENCY) {
+                        Result result = run(stack[1], tokens, firstId, clients);
+                        table.row(stack[0], clients, String.format("%.0f", result.throughput()), result.p50Millis(),
+                                result.p99Millis(), result.errors(), result.peakThreads());
+                        assertThat(result.requests()).isPositive();
+                    }
+                }
+            }
+        }
+        table.print();
+    }
+
+    // Hibernate creates the schema in the first servlet context; the others reuse it
+    private static ConfigurableApplicationContext startServlet(String profile, String database) {
+        return start(profile, "spring.datasource.url=jdbc:h2:mem:" + database,
+                "server.tomcat.max-connections=20000", "server.tomcat.accept-count=10000");
+    }
+
+    private static ConfigurableApplicationContext startReactive(String database) {
+        return new SpringApplicationBuilder(ReactiveTodoApplication.class)
+                .profiles(ReactiveTodoApplication.PROFILE)
+                .run("--server.port=0", "--spring.sql.init.mode=never", "--spring.r2dbc.url=r2dbc:h2:mem:///" + database);
+    }
+
+    // Clients run on virtual threads so neither they nor the HTTP client add platform threads to the count
+    private static Result run(String base, String[] tokens, long firstId, int clients) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        AtomicInteger peakThreads = new AtomicInteger(baseline);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (sampling.get()) {
+                peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + RUN_NANOS;
+        long start = System.nanoTime();
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(30)).build();
+            for (int c = 0; c < clients; c++) {
+                int user = c % tokens.length;
+                String token = tokens[user];
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = i % 2 == 0
+                                ? HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+                                        .header("Authorization", "Bearer " + token).GET().build()
+                                : HttpRequest.newBuilder(URI.create(base + "/api/tasks/"
+                                                + taskId(firstId, TASKS_PER_USER, user, ThreadLocalRandom.current().nextInt(TASKS_PER_USER)) + "/complete"))
+                                        .header("Authorization", "Bearer " + token)
+                                        .PUT(HttpRequest.BodyPublishers.noBody()).build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+                            if (status != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = merge(futures);
+            long elapsed = System.nanoTime() - start;
+            sampling.set(false);
+            sampler.join();
+            return new Result(all.length, errors.get(), all.length / (elapsed / 1e9),
+                    percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6, peakThreads.get() - baseline);
+        }
+    }
+
+    private record Result(int requests, int errors, double throughput, double p50Millis, double p99Millis, int peakThreads) {}
+}
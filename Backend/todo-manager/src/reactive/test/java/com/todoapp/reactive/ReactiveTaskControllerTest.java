@@ -0,0 +1,116 @@
+package com.todoapp.reactive;
+
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The reactive task endpoints answer with the servlet app's status codes and bodies. */
+// Named explicitly: the configuration search skips ReactiveTodoApplication, whose condition needs a
+// reactive context, and would otherwise boot the servlet app
+@SpringBootTest(classes = ReactiveTodoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///reactive-tasks;DB_CLOSE_DELAY=-1")
+@ActiveProfiles(ReactiveTodoApplication.PROFILE)
+class ReactiveTaskControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void createListUpdateCompleteDelete() throws Exception {
+        String token = jwtService.generateToken(register("reactive-owner"));
+
+        HttpResponse<String> created = send(token, "POST", "/api/tasks",
+                "{\"title\":\"Pay rent\",\"dueDate\":\"2026-11-01\",\"priority\":\"HIGH\"}");
+        assertThat(created.statusCode()).isEqualTo(200);
+        assertThat(created.body()).contains("\"title\":\"Pay rent\"").contains("\"version\":")
+                .doesNotContain("userId").doesNotContain("deleted");
+        String id = created.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+        send(token, "POST", "/api/tasks", "{\"title\":\"Water plants\"}");
+
+        assertThat(send(token, "GET", "/api/tasks", null).body())
+                .startsWith("[").contains("Pay rent").contains("Water plants");
+
+        HttpResponse<String> updated = send(token, "PUT", "/api/tasks/" + id,
+                "{\"title\":\"Pay rent today\",\"dueDate\":\"2026-11-01\",\"priority\":\"LOW\"}");
+        assertThat(updated.statusCode()).isEqualTo(200);
+        assertThat(updated.body()).contains("\"title\":\"Pay rent today\"").contains("\"priority\":\"LOW\"");
+
+        assertThat(send(token, "PUT", "/api/tasks/" + id + "/complete", null).body()).contains("\"completed\":true");
+        assertThat(send(token, "GET", "/api/tasks/completed", null).body()).contains("Pay rent today").doesNotContain("Water plants");
+        assertThat(send(token, "GET", "/api/tasks/pending", null).body()).contains("Water plants").doesNotContain("Pay rent today");
+
+        assertThat(send(token, "DELETE", "/api/tasks/" + id, null).statusCode()).isEqualTo(200);
+        assertThat(send(token, "GET", "/api/tasks", null).body()).doesNotContain("Pay rent today");
+        assertThat(send(token, "DELETE", "/api/tasks/" + id, null).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void anotherUsersTaskIsForbiddenAndAMissingOneNotFound() throws Exception {
+        String owner = jwtService.generateToken(register("reactive-a"));
+        String other = jwtService.generateToken(register("reactive-b"));
+        String id = send(owner, "POST", "/api/tasks", "{\"title\":\"Private\"}").body().replaceAll(".*\"id\":(\\d+).*", "$1");
+
+        assertThat(send(other, "PUT", "/api/tasks/" + id, "{\"title\":\"Mine now\"}").statusCode()).isEqualTo(403);
+        assertThat(send(other, "PUT", "/api/tasks/" + id + "/complete", null).statusCode()).isEqualTo(403);
+        assertThat(send(other, "DELETE", "/api/tasks/" + id, null).statusCode()).isEqualTo(403);
+        assertThat(send(other, "GET", "/api/tasks", null).body()).isEqualTo("[]");
+        assertThat(send(owner, "PUT", "/api/tasks/999999/complete", null).statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void tokensWithoutUserIdAreResolvedByUsername() throws Exception {
+        register("reactive-legacy");
+        String token = jwtService.generateToken("reactive-legacy");
+
+        assertThat(send(token, "POST", "/api/tasks", "{\"title\":\"Legacy\"}").statusCode()).isEqualTo(200);
+        assertThat(send(token, "GET", "/api/tasks", null).body()).contains("Legacy");
+    }
+
+    @Test
+    void missingTokenIsForbiddenAndBadTokenUnauthorized() throws Exception {
+        assertThat(send(null, "GET", "/api/tasks", null).statusCode()).isEqualTo(403);
+        assertThat(send("not-a-token", "GET", "/api/tasks", null).statusCode()).isEqualTo(401);
+    }
+
+    private User register(String username) {
+        Long id = db.sql("insert into users (username, password, email) values (:username, 'secret', :email)")
+                .bind("username", username)
+                .bind("email", username + "@example.com")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .block();
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+
+    private HttpResponse<String> send(String token, String method, String path, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        if (json != null) request.header("Content-Type", "application/json");
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
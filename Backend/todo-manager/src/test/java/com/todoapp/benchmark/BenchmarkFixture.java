@@ -0,0 +1,195 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.TodoManagerApplication;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.UserRepository;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.PasswordHasher;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Future;
+
+/**
+ * Shared by the opt-in benchmarks in this package and the JMH benchmarks in src/jmh: starts the app
+ * with benchmark settings, seeds users and tasks straight through JDBC, and prints result tables.
+ */
+final class BenchmarkFixture {
+
+    static final String[] WORDS = {
+            "report", "review", "invoice", "meeting", "call", "email", "draft", "budget", "plan", "design",
+            "deploy", "fix", "test", "refactor", "order", "renew", "book", "schedule", "prepare", "update",
+            "client", "team", "server", "laptop", "garden", "dentist", "groceries", "taxes", "insurance", "flight"
+    };
+
+    private static final int INSERT_CHUNK = 10_000;
+    private static final LocalDate FIRST_DUE = LocalDate.of(2026, 1, 1);
+
+    private BenchmarkFixture() {}
+
+    // ---------------- App ----------------
+    /**
+     * Starts the app on a random port with rate limits off, otherwise as configured.
+     * Settings go in as command-line arguments, so they win over application.properties and the
+     * profile files ({@link SpringApplicationBuilder#properties} would lose to both).
+     * {@code profiles} is a comma-separated list or null.
+     */
+    static ConfigurableApplicationContext start(String profiles, String... properties) {
+        List<String> args = new ArrayList<>(List.of("server.port=0", "rate-limit.enabled=false"));
+        args.addAll(Arrays.asList(properties));
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(TodoManagerApplication.class);
+        if (profiles != null) builder.profiles(profiles.split(","));
+        return builder.run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+
+    /** A new in-memory database per call, so apps started one after another never share rows. */
+    static String inMemory(String name) {
+        return "spring.datasource.url=jdbc:h2:mem:" + name + "-" + System.nanoTime();
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    // ---------------- Seeding ----------------
+    /**
+     * Stores users {@code prefix-0} to {@code prefix-(count-1)}, in that order, all with password
+     * "secret". They share one BCrypt hash, so thousands of users take no longer than one.
+     */
+    static List<User> registerUsers(ConfigurableApplicationContext context, String prefix, int count) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        String hash = context.getBean(PasswordHasher.class).encode("secret");
+        List<User> users = new ArrayList<>(count);
+        for (int u = 0; u < count; u++) {
+            String username = prefix + "-" + u;
+            users.add(userRepository.save(new User(username, hash, username + "@example.com")));
+        }
+        return users;
+    }
+
+    /** One access token per user, with the user id claim. */
+    static String[] tokens(ConfigurableApplicationContext context, List<User> users) {
+        JwtService jwtService = context.getBean(JwtService.class);
+        return users.stream().map(jwtService::generateToken).toArray(String[]::new);
+    }
+
+    /**
+     * Inserts {@code tasksPerUser} tasks for every user, bypassing the service, and moves the id
+     * sequence past them. Ids follow the existing rows and are laid out per user, so
+     * {@link #taskId} finds a user's k-th task without a lookup. Titles are three random words (each
+     * word matches about a tenth of the tasks); a fifth have no due date, a quarter no priority, and
+     * a third are completed. Returns the first id inserted.
+     */
+    static long seedTasks(JdbcTemplate jdbc, List<User> users, int tasksPerUser) {
+        long firstId = jdbc.queryForObject("select coalesce(max(id), 0) + 1 from tasks", Long.class);
+        SplittableRandom random = new SplittableRandom(firstId);
+        Task.Priority[] priorities = Task.Priority.values();
+        for (int u = 0; u < users.size(); u++) {
+            long userId = users.get(u).getId();
+            long userFirstId = taskId(firstId, tasksPerUser, u, 0);
+            for (int offset = 0; offset < tasksPerUser; offset += INSERT_CHUNK) {
+                int base = offset;
+                int count = Math.min(INSERT_CHUNK, tasksPerUser - offset);
+                jdbc.batchUpdate("insert into tasks (id, title, due_date, priority, completed, user_id, version, deleted) values (?, ?, ?, ?, ?, ?, 1, false)",
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                long id = userFirstId + base + i;
+                                ps.setLong(1, id);
+                                ps.setString(2, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                                        + " " + WORDS[random.nextInt(WORDS.length)]);
+                                ps.setDate(3, id % 5 == 0 ? null : Date.valueOf(FIRST_DUE.plusDays(random.nextInt(365))));
+                                ps.setString(4, id % 4 == 0 ? null : priorities[random.nextInt(priorities.length)].name());
+                                ps.setBoolean(5, random.nextInt(3) == 0);
+                                ps.setLong(6, userId);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return count;
+                            }
+                        });
+            }
+        }
+        jdbc.execute("alter sequence tasks_seq restart with " + taskId(firstId, tasksPerUser, users.size(), 0));
+        return firstId;
+    }
+
+    /** Id of a user's k-th task, for users seeded together by {@link #seedTasks} starting at {@code firstId}. */
+    static long taskId(long firstId, int tasksPerUser, int user, int k) {
+        return firstId + (long) user * tasksPerUser + k;
+    }
+
+    // ---------------- Reporting ----------------
+    /** Merges per-client latency samples into one sorted array. */
+    static long[] merge(List<Future<long[]>> futures) throws Exception {
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> future : futures) all.add(future.get());
+        return all.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+    }
+
+    static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1))];
+    }
+
+    static double mean(long[] values) {
+        return Arrays.stream(values).average().orElse(0);
+    }
+
+    /** Heap in use after a few collections; only meaningful as a difference between two calls. */
+    static long settledHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Rows printed under a header with the columns sized to fit: the first column left-aligned, the
+     * rest right-aligned, doubles with one decimal. Format a cell yourself for other precisions.
+     */
+    static final class Table {
+        private final List<String[]> rows = new ArrayList<>();
+
+        Table(String... header) {
+            rows.add(header);
+        }
+
+        Table row(Object... cells) {
+            rows.add(Arrays.stream(cells)
+                    .map(cell -> cell instanceof Double value ? String.format("%.1f", value) : String.valueOf(cell))
+                    .toArray(String[]::new));
+            return this;
+        }
+
+        void print() {
+            int[] widths = new int[rows.get(0).length];
+            for (String[] row : rows) {
+                for (int c = 0; c < row.length; c++) widths[c] = Math.max(widths[c], row[c].length());
+            }
+            StringBuilder out = new StringBuilder(System.lineSeparator());
+            for (String[] row : rows) {
+                for (int c = 0; c < row.length; c++) {
+                    String format = c == 0 ? "%-" + widths[c] + "s" : "  %" + widths[c] + "s";
+                    out.append(String.format(format, row[c]));
+                }
+                out.append(System.lineSeparator());
+            }
+            System.out.print(out);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.mean;
+import static com.todoapp.benchmark.BenchmarkFixture.merge;
+import static com.todoapp.benchmark.BenchmarkFixture.percentile;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.seedTasks;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures what metrics and tracing cost per request: the same read/write mix runs against the app
+ * with all meters, observations and tracing switched off, then with the shipped configuration.
+ * The budget is a 5% increase in mean latency ({@code -Dbench.metrics.budget=0.05}).
+ * Opt-in: {@code mvn test -Dtest=InstrumentationOverheadBenchmark -Dbench.metrics=true}
+ */
+@EnabledIfSystemProperty(named = "bench.metrics", matches = "true")
+class InstrumentationOverheadBenchmark {
+
+    private static final double BUDGET = Double.parseDouble(System.getProperty("bench.metrics.budget", "0.05"));
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 5_000;
+    private static final int WARMUP_PER_CLIENT = 1_000;
+
+    @Test
+    void overheadStaysWithinBudget() throws Exception {
+        long[] off = run(false);
+        long[] on = run(true);
+
+        double overhead = (mean(on) - mean(off)) / mean(off);
+        new Table("instrumented", "mean us", "p50 us", "p99 us")
+                .row("off", mean(off) / 1e3, percentile(off, 0.50) / 1e3, percentile(off, 0.99) / 1e3)
+                .row("on", mean(on) / 1e3, percentile(on, 0.50) / 1e3, percentile(on, 0.99) / 1e3)
+                .print();
+        System.out.printf("overhead %.1f%% of mean latency (budget %.1f%%)%n", overhead * 100, BUDGET * 100);
+
+        assertThat(overhead).isLessThanOrEqualTo(BUDGET);
+    }
+
+    private static long[] run(boolean instrumented) throws Exception {
+        String[] properties = instrumented
+                ? new String[] { inMemory("metrics") }
+                : new String[] { inMemory("metrics"), "management.metrics.enable.all=false",
+                        "management.observations.enable.all=false", "management.tracing.enabled=false" };
+
+        try (ConfigurableApplicationContext context = start(null, properties)) {
+            String base = baseUrl(context);
+            List<User> users = registerUsers(context, "metrics", CLIENTS);
+            seedTasks(context.getBean(JdbcTemplate.class), users, 50);
+            String[] tokens = tokens(context, users);
+
+            HttpClient http = HttpClient.newHttpClient();
+            List<Future<long[]>> futures = new ArrayList<>();
+            try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    String token = tokens[c];
+                    futures.add(clients.submit(() -> {
+                        long[] latencies = new long[REQUESTS_PER_CLIENT];
+                        for (int i = -WARMUP_PER_CLIENT; i < REQUESTS_PER_CLIENT; i++) {
+                            HttpRequest request = i % 10 == 0
+                                    ? HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+                                            .header("Authorization", "Bearer " + token)
+                                            .header("Content-Type", "application/json")
+                                            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"write " + i + "\"}"))
+                                            .build()
+                                    : HttpRequest.newBuilder(URI.create(base + "/api/tasks?size=50"))
+                                            .header("Authorization", "Bearer " + token).build();
+                            long start = System.nanoTime();
+                            http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (i >= 0) latencies[i] = System.nanoTime() - start;
+                        }
+                        return latencies;
+                    }));
+                }
+            }
+            return merge(futures);
+        }
+    }
+}
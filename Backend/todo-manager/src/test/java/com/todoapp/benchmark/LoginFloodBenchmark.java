@@ -0,0 +1,111 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.entity.User;
+import com.todoapp.service.PasswordHasher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.merge;
+import static com.todoapp.benchmark.BenchmarkFixture.percentile;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+
+/**
+ * Measures task-read latency on its own and again while hundreds of clients hammer the login
+ * endpoint, to show BCrypt on the bounded hashing pool no longer drags reads down with it.
+ * Opt-in: {@code mvn test -Dtest=LoginFloodBenchmark -Dbench.logins=true}
+ */
+@EnabledIfSystemProperty(named = "bench.logins", matches = "true")
+class LoginFloodBenchmark {
+
+    private static final int READERS = 32;
+    private static final int LOGIN_CLIENTS = 500;
+    private static final Duration PHASE = Duration.ofSeconds(15);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void readLatencyDuringLoginFlood() throws Exception {
+        try (ConfigurableApplicationContext context = start(null, inMemory("logins"))) {
+            String base = baseUrl(context);
+            List<User> users = registerUsers(context, "login", 2);
+            String token = tokens(context, users.subList(0, 1))[0];
+            String flooder = users.get(1).getUsername();
+
+            long[] quiet = readLatencies(base, token, null);
+
+            LongAdder logins = new LongAdder(), shed = new LongAdder();
+            AtomicBoolean flooding = new AtomicBoolean(true);
+            try (ExecutorService flood = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < LOGIN_CLIENTS; i++) {
+                    flood.submit(() -> {
+                        HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                        "{\"username\":\"" + flooder + "\",\"password\":\"secret\"}"))
+                                .build();
+                        while (flooding.get()) {
+                            int status = http.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 503 ? shed : logins).increment();
+                        }
+                        return null;
+                    });
+                }
+                long[] loaded = readLatencies(base, token, flooding);
+
+                new Table("phase", "reads", "p50 ms", "p99 ms")
+                        .row("quiet", quiet.length, percentile(quiet, 0.50) / 1e6, percentile(quiet, 0.99) / 1e6)
+                        .row("login flood", loaded.length, percentile(loaded, 0.50) / 1e6, percentile(loaded, 0.99) / 1e6)
+                        .print();
+                PasswordHasher passwordHasher = context.getBean(PasswordHasher.class);
+                System.out.printf("logins ok: %d, shed with 503: %d, mean hash %.1f ms, hash queue depth %d%n",
+                        logins.sum(), shed.sum(), passwordHasher.getMeanHashMillis(), passwordHasher.getQueueDepth());
+            }
+        }
+    }
+
+    // Runs the readers for one phase; stops the flood (if any) once the phase is over
+    private long[] readLatencies(String base, String token, AtomicBoolean flooding) throws Exception {
+        HttpRequest read = HttpRequest.newBuilder(URI.create(base + "/api/tasks?size=50"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        long deadline = System.nanoTime() + PHASE.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int r = 0; r < READERS; r++) {
+                futures.add(readers.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        http.send(read, HttpResponse.BodyHandlers.discarding());
+                        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+        }
+        if (flooding != null) flooding.set(false);
+        return merge(futures);
+    }
+}
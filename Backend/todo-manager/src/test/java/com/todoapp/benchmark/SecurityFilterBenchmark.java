@@ -0,0 +1,113 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.mean;
+import static com.todoapp.benchmark.BenchmarkFixture.merge;
+import static com.todoapp.benchmark.BenchmarkFixture.percentile;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request security overhead with the default settings (principal from the user cache) against
+ * the production profile (principal from the token's claims, WARN-level security logs). Drives
+ * {@code GET /api/tasks/stats}, which is served from memory so the filter chain dominates, and the
+ * anonymous {@code POST /api/auth/logout}.
+ * Opt-in: {@code mvn test -Dtest=SecurityFilterBenchmark -Dbench.security=true}
+ */
+@EnabledIfSystemProperty(named = "bench.security", matches = "true")
+class SecurityFilterBenchmark {
+
+    private static final int CLIENTS = 16;
+    private static final int REQUESTS_PER_CLIENT = 5_000;
+    private static final int WARMUP_PER_CLIENT = 1_000;
+
+    @Test
+    void productionProfileAgainstDefaults() throws Exception {
+        Result defaults = run(null);
+        Result production = run("production");
+
+        Table table = new Table("profile", "endpoint", "mean us", "p50 us", "p99 us", "filter mean us", "user lookups");
+        for (Result result : new Result[] { defaults, production }) {
+            long[] stats = result.authenticated(), logout = result.anonymous();
+            table.row(result.profile(), "stats", mean(stats) / 1e3, percentile(stats, 0.50) / 1e3, percentile(stats, 0.99) / 1e3,
+                    result.filterMeanMicros(), result.lookups());
+            table.row(result.profile(), "logout", mean(logout) / 1e3, percentile(logout, 0.50) / 1e3, percentile(logout, 0.99) / 1e3,
+                    "-", "-");
+        }
+        table.print();
+
+        assertThat(production.lookups()).isZero();
+        assertThat(mean(production.authenticated())).isLessThan(mean(defaults.authenticated()));
+    }
+
+    private static Result run(String profile) throws Exception {
+        try (ConfigurableApplicationContext context = start(profile, inMemory("security"))) {
+            String base = baseUrl(context);
+            UserService userService = context.getBean(UserService.class);
+            String[] tokens = tokens(context, registerUsers(context, "filter", CLIENTS));
+
+            HttpClient http = HttpClient.newHttpClient();
+            long[] anonymous = drive(http, c -> HttpRequest.newBuilder(URI.create(base + "/api/auth/logout"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build());
+
+            Timer filter = context.getBean(MeterRegistry.class).get("auth.jwt.filter").timer();
+            long filterCount = filter.count();
+            double filterNanos = filter.totalTime(TimeUnit.NANOSECONDS);
+            long lookups = userService.getIdentityLookupCount() + userService.getCacheStats().requestCount();
+            long[] authenticated = drive(http, c -> HttpRequest.newBuilder(URI.create(base + "/api/tasks/stats"))
+                    .header("Authorization", "Bearer " + tokens[c]).build());
+
+            double filterMean = (filter.totalTime(TimeUnit.NANOSECONDS) - filterNanos) / Math.max(1, filter.count() - filterCount) / 1e3;
+            long principalLookups = userService.getIdentityLookupCount() + userService.getCacheStats().requestCount() - lookups;
+            return new Result(profile == null ? "default" : profile, authenticated, anonymous, filterMean, principalLookups);
+        }
+    }
+
+    private static long[] drive(HttpClient http, RequestFactory requests) throws Exception {
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                HttpRequest request = requests.create(c);
+                futures.add(clients.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int i = -WARMUP_PER_CLIENT; i < REQUESTS_PER_CLIENT; i++) {
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (i >= 0) latencies[i] = System.nanoTime() - start;
+                        if (response.statusCode() != 200) throw new IllegalStateException("HTTP " + response.statusCode());
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        return merge(futures);
+    }
+
+    private interface RequestFactory {
+        HttpRequest create(int client);
+    }
+
+    private record Result(String profile, long[] authenticated, long[] anonymous, double filterMeanMicros, long lookups) {}
+}
@@ -0,0 +1,96 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.seedTasks;
+import static com.todoapp.benchmark.BenchmarkFixture.settledHeap;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Restarts the app on the persistent file store (data already on disk) and on the in-memory
+ * store (data reloaded after boot), reporting time-to-first-request and retained heap for each.
+ * Opt-in, since it stores a million tasks:
+ * {@code mvn test -Dtest=StoreRestartBenchmark -Dbench.restart=true -DargLine=-Xmx2g [-Dbench.restart.tasks=N]}
+ */
+@EnabledIfSystemProperty(named = "bench.restart", matches = "true")
+class StoreRestartBenchmark {
+
+    private static final int TASKS = Integer.getInteger("bench.restart.tasks", 1_000_000);
+    private static final String USERNAME = "bench";
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void persistentRestartVersusInMemoryReload() throws Exception {
+        String storePath = "store.path=" + dataDir.resolve("todoapp");
+
+        // Fill the file store once; this boot is not measured
+        try (ConfigurableApplicationContext context = start("persistent", storePath)) {
+            seed(context);
+        }
+
+        Sample persistent = measure("persistent", false, storePath);
+        Sample inMemory = measure(null, true, inMemory("restart"));
+
+        Table table = new Table("store", "boot ms", "reload ms", "first req ms", "heap MB");
+        for (Sample sample : new Sample[] { persistent, inMemory }) {
+            table.row(sample.mode(), sample.bootMillis(), sample.reloadMillis(), sample.firstRequestMillis(),
+                    sample.heapBytes() / (1024 * 1024));
+        }
+        table.print();
+
+        assertThat(persistent.status()).isEqualTo(200);
+        assertThat(inMemory.status()).isEqualTo(200);
+    }
+
+    private Sample measure(String profile, boolean reload, String... properties) throws Exception {
+        long heapBefore = settledHeap();
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(profile, properties)) {
+            long booted = System.nanoTime();
+            if (reload) seed(context);
+            long reloaded = System.nanoTime();
+            int status = firstRequest(context);
+            long served = System.nanoTime();
+
+            return new Sample(profile == null ? "in-memory" : profile, status,
+                    (booted - start) / 1_000_000, (reloaded - booted) / 1_000_000, (served - start) / 1_000_000,
+                    settledHeap() - heapBefore);
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        List<User> users = registerUsers(context, USERNAME, 1);
+        seedTasks(context.getBean(JdbcTemplate.class), users, TASKS);
+    }
+
+    private static int firstRequest(ConfigurableApplicationContext context) throws Exception {
+        String token = context.getBean(JwtService.class).generateToken(USERNAME + "-0");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl(context) + "/api/tasks?size=50"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private record Sample(String mode, int status, long bootMillis, long reloadMillis, long firstRequestMillis, long heapBytes) {}
+}
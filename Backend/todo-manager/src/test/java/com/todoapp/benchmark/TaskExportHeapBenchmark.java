@@ -0,0 +1,175 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.controller.TaskController;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Stream;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports and then exports 5M tasks over HTTP on the persistent file store while sampling the heap
+ * retained after each GC. Neither direction buffers tasks, so the peak must stay within a fixed
+ * budget above the idle app ({@code -Dbench.export.heap-budget-mb}, default 64), far below what
+ * 5M tasks would take in memory. Opt-in:
+ * {@code mvn test -Dtest=TaskExportHeapBenchmark -Dbench.export=true -DargLine=-Xmx512m [-Dbench.export.tasks=N]}
+ */
+@EnabledIfSystemProperty(named = "bench.export", matches = "true")
+class TaskExportHeapBenchmark {
+
+    private static final int TASKS = Integer.getInteger("bench.export.tasks", 5_000_000);
+    private static final long HEAP_BUDGET = Long.getLong("bench.export.heap-budget-mb", 64) * 1024 * 1024;
+    private static final List<MemoryPoolMXBean> HEAP_POOLS = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void heapStaysFlatForMillionsOfTasks() throws Exception {
+        try (ConfigurableApplicationContext context = start("persistent",
+                "store.path=" + dataDir.resolve("todoapp"), "store.cache-size-kb=16384")) {
+            String base = baseUrl(context);
+            String token = tokens(context, registerUsers(context, "exporter", 1))[0];
+            HttpClient http = HttpClient.newHttpClient();
+            long idle = retainedHeap();
+
+            HeapSampler importHeap = new HeapSampler();
+            HttpRequest importRequest = HttpRequest.newBuilder(URI.create(base + "/api/tasks/import"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", TaskController.NDJSON)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(() -> generatedLines(TASKS)))
+                    .build();
+            long importStart = System.nanoTime();
+            HttpResponse<String> imported = importHeap.during(() -> http.send(importRequest, HttpResponse.BodyHandlers.ofString()));
+            double importSeconds = (System.nanoTime() - importStart) / 1e9;
+
+            HeapSampler exportHeap = new HeapSampler();
+            HttpRequest exportRequest = HttpRequest.newBuilder(URI.create(base + "/api/tasks/export"))
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+            long exportStart = System.nanoTime();
+            long exported = exportHeap.during(() -> {
+                try (Stream<String> lines = http.send(exportRequest, HttpResponse.BodyHandlers.ofLines()).body()) {
+                    return lines.count();
+                }
+            });
+            double exportSeconds = (System.nanoTime() - exportStart) / 1e9;
+
+            new Table("phase", "seconds", "tasks/s", "peak heap MB")
+                    .row("idle", "-", "-", idle / (1024 * 1024))
+                    .row("import", importSeconds, String.format("%.0f", TASKS / importSeconds), importHeap.peak / (1024 * 1024))
+                    .row("export", exportSeconds, String.format("%.0f", TASKS / exportSeconds), exportHeap.peak / (1024 * 1024))
+                    .print();
+
+            assertThat(imported.statusCode()).isEqualTo(200);
+            assertThat(imported.body()).contains("\"imported\":" + TASKS);
+            assertThat(exported).isEqualTo(TASKS);
+            assertThat(importHeap.peak - idle).isLessThan(HEAP_BUDGET);
+            assertThat(exportHeap.peak - idle).isLessThan(HEAP_BUDGET);
+        }
+    }
+
+    // One NDJSON line per task, produced as the request body is read
+    private static InputStream generatedLines(int count) {
+        return new InputStream() {
+            private final LocalDate firstDue = LocalDate.of(2026, 1, 1);
+            private int next;
+            private byte[] line = new byte[0];
+            private int position;
+
+            @Override
+            public int read() {
+                if (!fill()) return -1;
+                return line[position++] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                if (length == 0) return 0;
+                int copied = 0;
+                while (copied < length && fill()) {
+                    int chunk = Math.min(length - copied, line.length - position);
+                    System.arraycopy(line, position, buffer, offset + copied, chunk);
+                    position += chunk;
+                    copied += chunk;
+                }
+                return copied == 0 ? -1 : copied;
+            }
+
+            private boolean fill() {
+                if (position < line.length) return true;
+                if (next == count) return false;
+                int n = next++;
+                line = ("{\"title\":\"task " + n + "\",\"dueDate\":\"" + firstDue.plusDays(n % 365)
+                        + "\",\"priority\":\"" + (n % 2 == 0 ? "HIGH" : "LOW") + "\",\"completed\":" + (n % 3 == 0) + "}\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                return true;
+            }
+        };
+    }
+
+    // Heap left after the most recent collection, summed over the heap pools; ignores short-lived garbage
+    private static long retainedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return collectionUsage();
+    }
+
+    private static long collectionUsage() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : HEAP_POOLS) {
+            if (pool.getCollectionUsage() != null) used += pool.getCollectionUsage().getUsed();
+        }
+        return used;
+    }
+
+    private static final class HeapSampler {
+        volatile long peak;
+
+        <T> T during(Callable<T> work) throws Exception {
+            Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peak = Math.max(peak, collectionUsage());
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            try {
+                return work.call();
+            } finally {
+                sampler.interrupt();
+                sampler.join();
+                peak = Math.max(peak, collectionUsage());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+
+import static com.todoapp.benchmark.BenchmarkFixture.percentile;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.seedTasks;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Grows the tasks table from 10k rows to 10M (by default) and, at each size, times the indexed
+ * per-user lookups for a fixed set of probe users whose own lists never change. With the composite
+ * indexes in place the latency depends on the probe user's rows, not the table, so each column
+ * should stay about flat down the table. Runs on the persistent file store so the largest sizes
+ * fit on disk rather than in heap. Opt-in:
+ * {@code mvn test -Dtest=TaskLookupScalingBenchmark -Dbench.scaling=true -DargLine=-Xmx2g [-Dbench.scaling.max-rows=N]}
+ */
+@EnabledIfSystemProperty(named = "bench.scaling", matches = "true")
+class TaskLookupScalingBenchmark {
+
+    private static final long MAX_ROWS = Long.getLong("bench.scaling.max-rows", 10_000_000);
+    private static final int PROBE_USERS = 10;
+    private static final int PROBE_TASKS = 500;
+    private static final int FILLER_TASKS = 10_000;
+    private static final int WARMUP = 500;
+    private static final int SAMPLES = 2_000;
+    private static final int PAGE_SIZE = 50;
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void lookupLatencyStaysFlatAsTheTableGrows() {
+        Map<String, List<Long>> medians = new LinkedHashMap<>();
+        Table table = new Table("rows", "query", "p50 µs", "p99 µs");
+        try (ConfigurableApplicationContext context = start("persistent", "store.path=" + dataDir.resolve("todoapp"))) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            TaskRepository tasks = context.getBean(TaskRepository.class);
+            List<User> probes = registerUsers(context, "probe", PROBE_USERS);
+            seedTasks(jdbc, probes, PROBE_TASKS);
+
+            Map<String, LongConsumer> lookups = lookups(tasks);
+            int step = 0;
+            for (long target = 10_000; target <= MAX_ROWS; target *= 10, step++) {
+                long rows = grow(context, jdbc, target, step);
+                for (Map.Entry<String, LongConsumer> lookup : lookups.entrySet()) {
+                    long[] latencies = time(probes, lookup.getValue());
+                    table.row(rows, lookup.getKey(), percentile(latencies, 0.50) / 1e3, percentile(latencies, 0.99) / 1e3);
+                    medians.computeIfAbsent(lookup.getKey(), k -> new ArrayList<>()).add(percentile(latencies, 0.50));
+                }
+            }
+        }
+        table.print();
+
+        // A scan grows a thousandfold over this range; an index lookup stays within noise of flat
+        medians.forEach((query, p50s) -> assertThat(p50s.get(p50s.size() - 1))
+                .as(query).isLessThan(10 * Math.max(p50s.get(0), 1_000)));
+    }
+
+    // The hot per-user queries, each reading the first page or the counts of one probe user
+    private static Map<String, LongConsumer> lookups(TaskRepository tasks) {
+        PageRequest page = PageRequest.of(0, PAGE_SIZE);
+        Map<String, LongConsumer> lookups = new LinkedHashMap<>();
+        lookups.put("pending by due date", userId -> tasks.findPageByDueDate(userId, List.of(false), LocalDate.of(1, 1, 1), 0L, page));
+        lookups.put("all by priority", userId -> tasks.findPageByPriority(userId, List.of(true, false), Task.Priority.HIGH, 0L, page));
+        lookups.put("changed since", userId -> tasks.findChangedSince(userId, 0L, page));
+        lookups.put("counts", tasks::countByState);
+        return lookups;
+    }
+
+    // Adds filler users' tasks until the table holds about target rows, then refreshes the planner's statistics
+    private static long grow(ConfigurableApplicationContext context, JdbcTemplate jdbc, long target, int step) {
+        long rows = jdbc.queryForObject("select count(*) from tasks", Long.class);
+        long missing = target - rows;
+        if (missing > 0) {
+            int users = (int) Math.max(1, missing / FILLER_TASKS);
+            seedTasks(jdbc, registerUsers(context, "filler-" + step, users), (int) (missing / users));
+        }
+        jdbc.execute("analyze");
+        return jdbc.queryForObject("select count(*) from tasks", Long.class);
+    }
+
+    private static long[] time(List<User> probes, LongConsumer lookup) {
+        long[] latencies = new long[SAMPLES];
+        for (int i = -WARMUP; i < SAMPLES; i++) {
+            long userId = probes.get(ThreadLocalRandom.current().nextInt(probes.size())).getId();
+            long start = System.nanoTime();
+            lookup.accept(userId);
+            if (i >= 0) latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+}
@@ -0,0 +1,124 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.seedTasks;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates clients polling {@code GET /api/tasks} while a few users edit between polls, once
+ * re-downloading every time and once revalidating with If-None-Match, and reports response bytes
+ * and the CPU time spent on Tomcat's request threads.
+ * Opt-in: {@code mvn test -Dtest=TaskPollingBenchmark -Dbench.polling=true}
+ */
+@EnabledIfSystemProperty(named = "bench.polling", matches = "true")
+class TaskPollingBenchmark {
+
+    private static final int USERS = 200;
+    private static final int TASKS_PER_USER = 100;
+    private static final int ROUNDS = 50;
+    private static final int WRITERS_PER_ROUND = 10;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void conditionalVersusFullPolling() throws Exception {
+        try (ConfigurableApplicationContext context = start(null, inMemory("polling"))) {
+            List<User> users = registerUsers(context, "poller", USERS);
+            seedTasks(context.getBean(JdbcTemplate.class), users, TASKS_PER_USER);
+            String base = baseUrl(context);
+            String[] tokens = tokens(context, users);
+
+            Result full = poll(base, tokens, false);
+            Result conditional = poll(base, tokens, true);
+
+            Table table = new Table("polling", "requests", "200", "304", "body KB", "server CPU ms");
+            for (Result result : new Result[] { full, conditional }) {
+                table.row(result.mode(), result.ok() + result.notModified(), result.ok(), result.notModified(),
+                        result.bodyBytes() / 1024, result.serverCpuNanos() / 1_000_000);
+            }
+            table.print();
+            System.out.printf("saved: %.1f%% bytes, %.1f%% server CPU%n",
+                    100.0 * (full.bodyBytes() - conditional.bodyBytes()) / full.bodyBytes(),
+                    100.0 * (full.serverCpuNanos() - conditional.serverCpuNanos()) / full.serverCpuNanos());
+
+            assertThat(conditional.bodyBytes()).isLessThan(full.bodyBytes());
+        }
+    }
+
+    // Every round each client polls once, then a few users write, so later polls see a mix of changed lists
+    private Result poll(String base, String[] tokens, boolean conditional) throws Exception {
+        String[] etags = new String[tokens.length];
+        LongAdder ok = new LongAdder(), notModified = new LongAdder(), bytes = new LongAdder();
+        SplittableRandom random = new SplittableRandom(3);
+
+        long cpuBefore = serverCpuNanos();
+        for (int round = 0; round < ROUNDS; round++) {
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < tokens.length; c++) {
+                    int client = c;
+                    clients.submit(() -> {
+                        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+                                .header("Authorization", "Bearer " + tokens[client]);
+                        if (conditional && etags[client] != null) request.header("If-None-Match", etags[client]);
+                        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                        (response.statusCode() == 304 ? notModified : ok).increment();
+                        bytes.add(response.body().length);
+                        etags[client] = response.headers().firstValue("ETag").orElse(null);
+                        return null;
+                    });
+                }
+            }
+            for (int w = 0; w < WRITERS_PER_ROUND; w++) createTask(base, tokens[random.nextInt(tokens.length)], "edit " + round);
+        }
+        return new Result(conditional ? "conditional" : "full", ok.sum(), notModified.sum(), bytes.sum(),
+                serverCpuNanos() - cpuBefore);
+    }
+
+    private static long serverCpuNanos() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        AtomicLong total = new AtomicLong();
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith("http-nio-")) {
+                long cpu = threads.getThreadCpuTime(info.getThreadId());
+                if (cpu > 0) total.addAndGet(cpu);
+            }
+        }
+        return total.get();
+    }
+
+    private void createTask(String base, String token, String title) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + title + "\"}"))
+                .build();
+        http.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private record Result(String mode, long ok, long notModified, long bodyBytes, long serverCpuNanos) {}
+}
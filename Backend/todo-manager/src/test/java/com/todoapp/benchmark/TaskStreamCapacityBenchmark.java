@@ -0,0 +1,124 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import com.todoapp.service.TaskEventBroker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.settledHeap;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opens streams against one node until it refuses or the target is reached, then pushes a single
+ * change and times how long it takes to reach every stream. Reports heap retained per open stream.
+ * Opt-in: {@code mvn test -Dtest=TaskStreamCapacityBenchmark -Dbench.streams=true [-Dbench.streams.count=N]}
+ */
+@EnabledIfSystemProperty(named = "bench.streams", matches = "true")
+class TaskStreamCapacityBenchmark {
+
+    private static final int STREAMS = Integer.getInteger("bench.streams.count", 10_000);
+    private static final int WAVE = 500;
+
+    @Test
+    void openStreamsAndFanOut() throws Exception {
+        try (ConfigurableApplicationContext context = start(null, inMemory("streams"),
+                "tasks.stream.max-open=50000", "server.tomcat.max-connections=60000")) {
+            fanOut(baseUrl(context), tokens(context, registerUsers(context, "fanout", 1))[0],
+                    context.getBean(TaskEventBroker.class));
+        }
+    }
+
+    private static void fanOut(String base, String token, TaskEventBroker eventBroker) throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+        CountDownLatch delivered = new CountDownLatch(STREAMS);
+
+        long heapBefore = settledHeap();
+        int opened = 0;
+        while (opened < STREAMS) {
+            List<CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>>> wave = new ArrayList<>();
+            for (int i = 0; i < Math.min(WAVE, STREAMS - opened); i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/tasks/stream"))
+                        .header("Authorization", "Bearer " + token)
+                        .build();
+                // ofPublisher completes on the response headers, while the body keeps streaming
+                wave.add(http.sendAsync(request, HttpResponse.BodyHandlers.ofPublisher()));
+            }
+            int accepted = 0;
+            for (CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> pending : wave) {
+                HttpResponse<Flow.Publisher<List<ByteBuffer>>> response = pending.get(30, TimeUnit.SECONDS);
+                if (response.statusCode() == 200) accepted++;
+                response.body().subscribe(new CreatedCounter(delivered));
+            }
+            opened += accepted;
+            if (accepted < wave.size()) break;
+        }
+        long heapPerStream = (settledHeap() - heapBefore) / Math.max(opened, 1);
+
+        long start = System.nanoTime();
+        HttpRequest create = HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"fan-out\"}"))
+                .build();
+        http.send(create, HttpResponse.BodyHandlers.discarding());
+        boolean all = delivered.await(60, TimeUnit.SECONDS);
+        long fanOutMillis = (System.nanoTime() - start) / 1_000_000;
+
+        new Table("open streams", "server open", "dropped", "heap/stream B", "delivered", "fan-out ms")
+                .row(opened, eventBroker.getOpenStreamCount(), eventBroker.getDroppedStreamCount(), heapPerStream,
+                        (STREAMS - delivered.getCount()) + (all ? "" : " (incomplete)"), fanOutMillis)
+                .print();
+
+        assertThat(opened).isPositive();
+    }
+
+    // Counts down once per stream when its first "created" event arrives
+    private static final class CreatedCounter implements Flow.Subscriber<List<ByteBuffer>> {
+        private final CountDownLatch delivered;
+        private boolean counted;
+
+        CreatedCounter(CountDownLatch delivered) {
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> chunks) {
+            for (ByteBuffer chunk : chunks) {
+                if (!counted && StandardCharsets.UTF_8.decode(chunk).toString().contains("event:created")) {
+                    counted = true;
+                    delivered.countDown();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {}
+
+        @Override
+        public void onComplete() {}
+    }
+}
@@ -0,0 +1,107 @@
+package com.todoapp.benchmark;
+
+import com.todoapp.benchmark.BenchmarkFixture.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.todoapp.benchmark.BenchmarkFixture.baseUrl;
+import static com.todoapp.benchmark.BenchmarkFixture.inMemory;
+import static com.todoapp.benchmark.BenchmarkFixture.merge;
+import static com.todoapp.benchmark.BenchmarkFixture.percentile;
+import static com.todoapp.benchmark.BenchmarkFixture.registerUsers;
+import static com.todoapp.benchmark.BenchmarkFixture.start;
+import static com.todoapp.benchmark.BenchmarkFixture.tokens;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the app with 100, 1k and 10k concurrent clients, once on Tomcat's platform-thread pool and
+ * once with the {@code virtual-threads} profile, and reports throughput, p50/p99 latency and errors.
+ * Each client loops over a read (keyset page) and a write (create task) for a fixed duration.
+ * Opt-in: {@code mvn test -Dtest=ThreadModeBenchmark -Dbench.threads=true [-Dbench.threads.seconds=N]}
+ */
+@EnabledIfSystemProperty(named = "bench.threads", matches = "true")
+class ThreadModeBenchmark {
+
+    private static final int[] CONCURRENCY = { 100, 1_000, 10_000 };
+    private static final long RUN_NANOS = Duration.ofSeconds(Integer.getInteger("bench.threads.seconds", 20)).toNanos();
+    private static final int USERS = 100;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Table table = new Table("mode", "clients", "req/s", "p50 ms", "p99 ms", "errors");
+        for (String profile : new String[] { null, "virtual-threads" }) {
+            try (ConfigurableApplicationContext context = start(profile, inMemory("threads"),
+                    "server.tomcat.max-connections=20000", "server.tomcat.accept-count=10000")) {
+                String[] tokens = tokens(context, registerUsers(context, "load", USERS));
+                for (int clients : CONCURRENCY) {
+                    Result result = run(baseUrl(context), tokens, clients);
+                    table.row(profile == null ? "platform" : profile, clients, String.format("%.0f", result.throughput()),
+                            result.p50Millis(), result.p99Millis(), result.errors());
+                    assertThat(result.requests()).isPositive();
+                }
+            }
+        }
+        table.print();
+    }
+
+    // Clients run on virtual threads so the load generator itself is not the bottleneck at 10k
+    private static Result run(String base, String[] tokens, int clients) throws Exception {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + RUN_NANOS;
+        long start = System.nanoTime();
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                String token = tokens[c % tokens.length];
+                int client = c;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        HttpRequest request = i % 2 == 0
+                                ? HttpRequest.newBuilder(URI.create(base + "/api/tasks?size=50"))
+                                        .header("Authorization", "Bearer " + token).GET().build()
+                                : HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+                                        .header("Authorization", "Bearer " + token)
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"load " + client + "-" + i + "\"}"))
+                                        .build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long[] all = merge(futures);
+        return new Result(all.length, errors.get(), all.length / (elapsed / 1e9),
+                percentile(all, 0.50) / 1e6, percentile(all, 0.99) / 1e6);
+    }
+
+    private record Result(int requests, int errors, double throughput, double p50Millis, double p99Millis) {}
+}
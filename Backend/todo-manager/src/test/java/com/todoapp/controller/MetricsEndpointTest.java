@@ -0,0 +1,80 @@
+package com.todoapp.controller;
+
+import com.todoapp.service.JwtService;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Prometheus scrape needs a token and carries the hot-path timers and pool gauges. Tests turn
+ * metrics export off unless asked, hence {@code @AutoConfigureObservability}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void scrapeIncludesHotPathMeters() throws Exception {
+        userService.registerUser("scraped", "secret", "scraped@example.com");
+        String token = jwtService.generateToken("scraped");
+        http.send(HttpRequest.newBuilder(uri("/api/tasks")).header("Authorization", "Bearer " + token).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        HttpResponse<String> scrape = http.send(HttpRequest.newBuilder(uri("/actuator/prometheus"))
+                .header("Authorization", "Bearer " + token).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .contains("http_server_requests_seconds_bucket")
+                .contains("uri=\"/api/tasks\"")
+                .contains("auth_jwt_filter_seconds_count")
+                .contains("auth_password_hash_seconds_count")
+                .contains("spring_data_repository_invocations_seconds")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_cache_gets_total");
+    }
+
+    @Test
+    void anonymousScrapeIsRefusedButHealthIsOpen() throws Exception {
+        HttpResponse<Void> scrape = http.send(HttpRequest.newBuilder(uri("/actuator/prometheus")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        HttpResponse<Void> health = http.send(HttpRequest.newBuilder(uri("/actuator/health")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(scrape.statusCode()).isIn(401, 403);
+        assertThat(health.statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void otherActuatorEndpointsAreNotExposed() throws Exception {
+        HttpResponse<Void> env = http.send(HttpRequest.newBuilder(uri("/actuator/env")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(env.statusCode()).isIn(401, 403, 404);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
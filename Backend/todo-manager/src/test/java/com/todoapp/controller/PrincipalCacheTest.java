@@ -0,0 +1,98 @@
+package com.todoapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The default setup: principals resolved by username through the user cache, not the database, and
+ * evicted when the user is updated or deleted.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:principal-cache"
+})
+class PrincipalCacheTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void repeatedRequestsDoNotReloadThePrincipal() throws Exception {
+        userService.registerUser("repeat", "secret", "repeat@example.com");
+        String token = jwtService.generateToken("repeat");
+        long lookups = userService.getIdentityLookupCount();
+        long hits = userService.getCacheStats().hitCount();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(get("/api/tasks", token).statusCode()).isEqualTo(200);
+        }
+
+        assertThat(userService.getIdentityLookupCount()).isEqualTo(lookups);
+        assertThat(userService.getCacheStats().hitCount()).isGreaterThanOrEqualTo(hits + 20);
+    }
+
+    @Test
+    void principalIsLoadedOnceAfterLogin() throws Exception {
+        userService.registerUser("login-once", "secret", "login-once@example.com");
+        HttpRequest login = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"login-once\",\"password\":\"secret\"}"))
+                .build();
+        String token = new ObjectMapper().readTree(http.send(login, HttpResponse.BodyHandlers.ofString()).body())
+                .path("token").asText();
+        long lookups = userService.getIdentityLookupCount();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(get("/api/tasks", token).statusCode()).isEqualTo(200);
+        }
+
+        assertThat(userService.getIdentityLookupCount()).isEqualTo(lookups);
+    }
+
+    @Test
+    void updatedAndDeletedUsersAreNotServedFromTheCache() throws Exception {
+        User user = userService.registerUser("changing", "secret", "changing@example.com");
+        String token = jwtService.generateToken("changing");
+        assertThat(get("/api/tasks", token).statusCode()).isEqualTo(200);
+
+        user.setEmail("changed@example.com");
+        userService.updateUser(user);
+        assertThat(userService.findByUsername("changing")).hasValueSatisfying(
+                cached -> assertThat(cached.getEmail()).isEqualTo("changed@example.com"));
+
+        userService.deleteUser(user);
+        assertThat(userService.findByUsername("changing")).isEmpty();
+        assertThat(get("/api/tasks", token).statusCode()).isIn(401, 403);
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
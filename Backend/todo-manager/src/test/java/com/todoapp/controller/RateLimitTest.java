@@ -0,0 +1,94 @@
+package com.todoapp.controller;
+
+import com.todoapp.service.JwtService;
+import com.todoapp.service.PasswordHasher;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 429 once a rule's bucket is empty: logins per client address before BCrypt runs, tasks per user. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:rate-limit",
+        "rate-limit.enabled=true",
+        "rate-limit.rules.login.paths=/api/auth/login",
+        "rate-limit.rules.login.key=address",
+        "rate-limit.rules.login.capacity=2",
+        "rate-limit.rules.login.refill-interval=1h",
+        "rate-limit.rules.tasks.paths=/api/tasks/**",
+        "rate-limit.rules.tasks.capacity=3",
+        "rate-limit.rules.tasks.refill-interval=1h"
+})
+class RateLimitTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void loginAttemptsAreLimitedBeforeThePasswordCheck() throws Exception {
+        userService.registerUser("limited-login", "secret", "limited-login@example.com");
+        assertThat(login("limited-login", "wrong").statusCode()).isEqualTo(400);
+        assertThat(login("limited-login", "wrong").statusCode()).isEqualTo(400);
+
+        long hashes = passwordHasher.getHashCount();
+        HttpResponse<String> limited = login("limited-login", "secret");
+
+        assertThat(limited.statusCode()).isEqualTo(429);
+        assertThat(limited.headers().firstValue("Retry-After").map(Long::parseLong)).hasValueSatisfying(
+                seconds -> assertThat(seconds).isBetween(1L, 3600L));
+        assertThat(passwordHasher.getHashCount()).isEqualTo(hashes);
+    }
+
+    @Test
+    void taskRequestsAreLimitedPerUser() throws Exception {
+        String heavy = register("limited-heavy");
+        String light = register("limited-light");
+
+        for (int i = 0; i < 3; i++) assertThat(get(heavy, "/api/tasks").statusCode()).isEqualTo(200);
+        assertThat(get(heavy, "/api/tasks/pending").statusCode()).isEqualTo(429);
+
+        assertThat(get(light, "/api/tasks").statusCode()).isEqualTo(200);
+    }
+
+    private String register(String username) {
+        userService.registerUser(username, "secret", username + "@example.com");
+        return jwtService.generateToken(username);
+    }
+
+    private HttpResponse<String> login(String username, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String token, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
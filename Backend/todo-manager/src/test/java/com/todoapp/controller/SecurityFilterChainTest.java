@@ -0,0 +1,117 @@
+package com.todoapp.controller;
+
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The production setup: one JWT filter pass per request, principals from the token, no token handling on /api/auth. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:security-chain",
+        "auth.principal-from-token=true"
+})
+class SecurityFilterChainTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void jwtFilterRunsOncePerRequest() throws Exception {
+        String token = jwtService.generateToken(register("once"));
+        long before = filterPasses();
+
+        assertThat(get("/api/tasks", token).statusCode()).isEqualTo(200);
+
+        assertThat(filterPasses()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void principalComesFromTheTokenWithoutALookup() throws Exception {
+        String token = jwtService.generateToken(register("claims"));
+        long cacheRequests = userService.getCacheStats().requestCount();
+        long lookups = userService.getIdentityLookupCount();
+
+        HttpResponse<String> created = post("/api/tasks", token, "{\"title\":\"from claims\"}");
+
+        assertThat(created.statusCode()).isEqualTo(200);
+        assertThat(get("/api/tasks", token).body()).contains("from claims");
+        assertThat(userService.getCacheStats().requestCount()).isEqualTo(cacheRequests);
+        assertThat(userService.getIdentityLookupCount()).isEqualTo(lookups);
+    }
+
+    @Test
+    void tokenWithoutUserIdFallsBackToLookup() throws Exception {
+        register("legacy");
+        String token = jwtService.generateToken("legacy");
+        long cacheRequests = userService.getCacheStats().requestCount();
+
+        assertThat(get("/api/tasks", token).statusCode()).isEqualTo(200);
+        assertThat(userService.getCacheStats().requestCount()).isGreaterThan(cacheRequests);
+    }
+
+    @Test
+    void authEndpointsSkipTokenHandling() throws Exception {
+        long before = filterPasses();
+
+        HttpResponse<String> refresh = post("/api/auth/refresh", "not-a-jwt", "{\"refreshToken\":\"unknown\"}");
+
+        // Answered by the controller, not rejected by the JWT filter
+        assertThat(refresh.statusCode()).isEqualTo(401);
+        assertThat(refresh.body()).contains("Invalid or expired refresh token");
+        assertThat(filterPasses()).isEqualTo(before);
+    }
+
+    @Test
+    void taskEndpointsStillRequireAToken() throws Exception {
+        assertThat(get("/api/tasks", null).statusCode()).isIn(401, 403);
+    }
+
+    private User register(String username) {
+        return userService.registerUser(username, "secret", username + "@example.com");
+    }
+
+    private long filterPasses() {
+        return meterRegistry.get("auth.jwt.filter").timer().count();
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path));
+        if (token != null) request.header("Authorization", "Bearer " + token);
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String token, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
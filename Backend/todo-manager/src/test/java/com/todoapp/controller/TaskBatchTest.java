@@ -0,0 +1,152 @@
+package com.todoapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.TaskService;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** {@code POST /api/tasks/batch}: the size cap, mixed operations, per-operation results, and 403 against 404. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskBatchTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void batchAboveTheLimitIsRejectedWhole() throws Exception {
+        User user = register("batch-limit");
+        String create = "{\"op\":\"CREATE\",\"title\":\"t\"}";
+
+        HttpResponse<String> tooLarge = post(user, "[" + String.join(",", Collections.nCopies(TaskService.MAX_BATCH_SIZE + 1, create)) + "]");
+        HttpResponse<String> atLimit = post(user, "[" + String.join(",", Collections.nCopies(TaskService.MAX_BATCH_SIZE, create)) + "]");
+
+        assertThat(tooLarge.statusCode()).isEqualTo(413);
+        assertThat(atLimit.statusCode()).isEqualTo(200);
+        assertThat(taskService.getAllTasksForUser(user)).hasSize(TaskService.MAX_BATCH_SIZE);
+    }
+
+    @Test
+    void mixedOperationsEachReportTheirOwnResult() throws Exception {
+        User user = register("batch-mixed");
+        Task toUpdate = create(user, "old title");
+        Task toComplete = create(user, "finish me");
+        Task toDelete = create(user, "remove me");
+
+        JsonNode results = objectMapper.readTree(post(user, "["
+                + "{\"op\":\"CREATE\",\"title\":\"new\",\"priority\":\"HIGH\"},"
+                + "{\"op\":\"UPDATE\",\"id\":" + toUpdate.getId() + ",\"title\":\"new title\",\"dueDate\":\"2026-05-01\"},"
+                + "{\"op\":\"COMPLETE\",\"id\":" + toComplete.getId() + "},"
+                + "{\"op\":\"DELETE\",\"id\":" + toDelete.getId() + "},"
+                + "{\"op\":\"UPDATE\",\"id\":" + toDelete.getId() + ",\"title\":\"too late\"},"
+                + "{\"op\":\"UPDATE\",\"id\":" + toUpdate.getId() + "},"
+                + "{\"title\":\"no op\"}"
+                + "]").body());
+
+        assertThat(results).hasSize(7);
+        for (int i = 0; i < results.size(); i++) assertThat(results.get(i).get("index").asInt()).isEqualTo(i);
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(0).get("task").get("title").asText()).isEqualTo("new");
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(1).get("task").get("dueDate").asText()).isEqualTo("2026-05-01");
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(2).get("task").get("completed").asBoolean()).isTrue();
+        assertThat(results.get(3).get("status").asInt()).isEqualTo(200);
+        assertThat(results.get(3).get("id").asLong()).isEqualTo(toDelete.getId());
+        // Deleted earlier in the same batch
+        assertThat(results.get(4).get("status").asInt()).isEqualTo(404);
+        assertThat(results.get(5).get("status").asInt()).isEqualTo(400);
+        assertThat(results.get(6).get("status").asInt()).isEqualTo(400);
+
+        Map<Long, Task> stored = taskService.getAllTasksForUser(user).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        assertThat(stored).hasSize(3).doesNotContainKey(toDelete.getId())
+                .containsKey(results.get(0).get("id").asLong());
+        assertThat(stored.get(toUpdate.getId()).getTitle()).isEqualTo("new title");
+        assertThat(stored.get(toComplete.getId()).isCompleted()).isTrue();
+    }
+
+    @Test
+    void anotherUsersTaskIsForbiddenAndAMissingOneNotFound() throws Exception {
+        User owner = register("batch-owner");
+        User intruder = register("batch-intruder");
+        Task theirs = create(owner, "not yours");
+
+        JsonNode results = objectMapper.readTree(post(intruder, "["
+                + "{\"op\":\"COMPLETE\",\"id\":" + theirs.getId() + "},"
+                + "{\"op\":\"DELETE\",\"id\":" + theirs.getId() + "},"
+                + "{\"op\":\"COMPLETE\",\"id\":" + Long.MAX_VALUE + "},"
+                + "{\"op\":\"CREATE\",\"title\":\"mine\"}"
+                + "]").body());
+
+        assertThat(results.get(0).get("status").asInt()).isEqualTo(403);
+        assertThat(results.get(1).get("status").asInt()).isEqualTo(403);
+        assertThat(results.get(2).get("status").asInt()).isEqualTo(404);
+        assertThat(results.get(3).get("status").asInt()).isEqualTo(200);
+
+        Task unchanged = taskService.getAllTasksForUser(owner).get(0);
+        assertThat(unchanged.isCompleted()).isFalse();
+        assertThat(taskService.getAllTasksForUser(intruder)).extracting(Task::getTitle).containsExactly("mine");
+    }
+
+    @Test
+    void batchWithoutTokenIsRejected() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/tasks/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("[]"))
+                .build();
+
+        assertThat(http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isIn(401, 403);
+    }
+
+    private User register(String username) {
+        return userService.registerUser(username, "secret", username + "@example.com");
+    }
+
+    private Task create(User user, String title) {
+        return taskService.createTask(new Task(title, null, null, user));
+    }
+
+    private HttpResponse<String> post(User user, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/tasks/batch"))
+                .header("Authorization", "Bearer " + jwtService.generateToken(user.getUsername()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
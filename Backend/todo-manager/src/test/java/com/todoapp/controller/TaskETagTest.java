@@ -0,0 +1,102 @@
+package com.todoapp.controller;
+
+import com.todoapp.service.EntityCacheStats;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Conditional GETs on the task listings: 304 without touching the database until a write changes the ETag. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskETagTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private EntityCacheStats cacheStats;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void unchangedListIsNotModified() throws Exception {
+        String token = register("etag-unchanged");
+        createTask(token, "first");
+
+        HttpResponse<String> full = get(token, "/api/tasks", null);
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(full.body()).contains("first");
+
+        long statements = cacheStats.getStatementCount();
+        HttpResponse<String> revalidated = get(token, "/api/tasks", etag);
+
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+        assertThat(revalidated.body()).isEmpty();
+        assertThat(revalidated.headers().firstValue("ETag")).contains(etag);
+        assertThat(cacheStats.getStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    void writeChangesTheETag() throws Exception {
+        String token = register("etag-write");
+        createTask(token, "first");
+        String etag = get(token, "/api/tasks/pending", null).headers().firstValue("ETag").orElseThrow();
+
+        createTask(token, "second");
+        HttpResponse<String> after = get(token, "/api/tasks/pending", etag);
+
+        assertThat(after.statusCode()).isEqualTo(200);
+        assertThat(after.body()).contains("second");
+        assertThat(after.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(etag);
+    }
+
+    @Test
+    void etagIsPerUser() throws Exception {
+        String mine = register("etag-mine");
+        String theirs = register("etag-theirs");
+        String etag = get(mine, "/api/tasks", null).headers().firstValue("ETag").orElseThrow();
+
+        assertThat(get(theirs, "/api/tasks", etag).statusCode()).isEqualTo(200);
+    }
+
+    private String register(String username) {
+        userService.registerUser(username, "secret", username + "@example.com");
+        return jwtService.generateToken(username);
+    }
+
+    private HttpResponse<String> get(String token, String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+        if (ifNoneMatch != null) request.header("If-None-Match", ifNoneMatch);
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void createTask(String token, String title) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + title + "\"}"))
+                .build();
+        assertThat(http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,100 @@
+package com.todoapp.controller;
+
+import com.todoapp.service.JwtService;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** NDJSON export and import of a user's tasks over HTTP. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TaskExportImportTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void exportedTasksImportIntoAnotherAccount() throws Exception {
+        String source = register("export-source");
+        HttpResponse<String> imported = importLines(source, String.join("\n",
+                "{\"title\":\"Pay rent\",\"dueDate\":\"2026-11-01\",\"priority\":\"HIGH\",\"completed\":false}",
+                "{\"title\":\"Water plants\",\"completed\":true}",
+                "{\"title\":\"\"}",
+                ""));
+        assertThat(imported.statusCode()).isEqualTo(200);
+        assertThat(imported.body()).contains("\"imported\":2").contains("\"skipped\":1");
+
+        HttpResponse<String> exported = get(source, "/api/tasks/export");
+        List<String> lines = exported.body().lines().toList();
+        assertThat(exported.statusCode()).isEqualTo(200);
+        assertThat(exported.headers().firstValue("Content-Type")).hasValueSatisfying(type -> assertThat(type).startsWith(TaskController.NDJSON));
+        assertThat(exported.body()).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"title\":\"Pay rent\"").contains("\"dueDate\":\"2026-11-01\"").contains("\"priority\":\"HIGH\"");
+        assertThat(lines.get(1)).contains("\"title\":\"Water plants\"").contains("\"completed\":true");
+
+        String target = register("export-target");
+        assertThat(importLines(target, exported.body()).body()).contains("\"imported\":2");
+        assertThat(get(target, "/api/tasks/export").body().lines().map(line -> line.replaceAll("\"id\":\\d+", "")).toList())
+                .isEqualTo(lines.stream().map(line -> line.replaceAll("\"id\":\\d+", "")).toList());
+    }
+
+    @Test
+    void malformedLineImportsNothing() throws Exception {
+        String token = register("import-malformed");
+
+        HttpResponse<String> response = importLines(token, "{\"title\":\"one\"}\n{\"title\":\"two\"}\n{\"title\": oops}\n{\"title\":\"four\"}\n");
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("\"imported\":0").contains("line 3");
+        assertThat(get(token, "/api/tasks/export").body()).isEmpty();
+    }
+
+    @Test
+    void exportOfNoTasksIsEmpty() throws Exception {
+        HttpResponse<String> exported = get(register("export-empty"), "/api/tasks/export");
+
+        assertThat(exported.statusCode()).isEqualTo(200);
+        assertThat(exported.body()).isEmpty();
+    }
+
+    private String register(String username) {
+        userService.registerUser(username, "secret", username + "@example.com");
+        return jwtService.generateToken(username);
+    }
+
+    private HttpResponse<String> get(String token, String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> importLines(String token, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/tasks/import"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", TaskController.NDJSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,191 @@
+package com.todoapp.controller;
+
+import com.todoapp.dto.TaskEvent;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.User;
+import com.todoapp.service.JwtService;
+import com.todoapp.service.TaskEventBroker;
+import com.todoapp.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opens real {@code /api/tasks/stream} connections and checks that task changes are pushed,
+ * replayed after a reconnect, answered with a reset when they can no longer be replayed, and that
+ * clients which stop reading are dropped without holding up anyone else's stream.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "tasks.stream.send-timeout=1s")
+class TaskStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TaskEventBroker eventBroker;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void createdTaskIsPushedToOpenStream() throws Exception {
+        String token = register("stream-push");
+        BlockingQueue<String> stream = open(token, null);
+        next(stream, ":open");
+
+        createTask(token, "pushed");
+
+        assertThat(next(stream, "event:")).isEqualTo("event:created");
+        assertThat(next(stream, "data:")).contains("\"title\":\"pushed\"");
+    }
+
+    @Test
+    void reconnectReplaysEventsAfterLastEventId() throws Exception {
+        String token = register("stream-resume");
+        BlockingQueue<String> first = open(token, null);
+        next(first, ":open");
+
+        createTask(token, "seen");
+        String lastEventId = next(first, "id:").substring("id:".length());
+        createTask(token, "missed one");
+        createTask(token, "missed two");
+
+        BlockingQueue<String> resumed = open(token, lastEventId);
+        assertThat(next(resumed, "data:")).contains("missed one");
+        assertThat(next(resumed, "data:")).contains("missed two");
+    }
+
+    @Test
+    void unknownLastEventIdRequestsReset() throws Exception {
+        String token = register("stream-reset");
+
+        BlockingQueue<String> stream = open(token, "1");
+
+        assertThat(next(stream, "event:")).isEqualTo("event:reset");
+    }
+
+    @Test
+    void stalledSubscribersAreDroppedWithoutDelayingOthers() throws Exception {
+        User stalledUser = userService.registerUser("stream-stalled", "secret", "stream-stalled@example.com");
+        String stalledToken = jwtService.generateToken(stalledUser.getUsername());
+        String healthyToken = register("stream-healthy");
+        long droppedBefore = eventBroker.getDroppedStreamCount();
+
+        // Enough stalled clients to tie up every thread of a fixed-size dispatcher pool
+        int stalledCount = Runtime.getRuntime().availableProcessors() + 4;
+        List<Socket> stalled = new ArrayList<>();
+        try {
+            int openBefore = eventBroker.getOpenStreamCount();
+            for (int i = 0; i < stalledCount; i++) stalled.add(openWithoutReading(stalledToken));
+            awaitTrue(() -> eventBroker.getOpenStreamCount() >= openBefore + stalledCount);
+
+            // Fewer events than the send buffer holds, but far more bytes than the socket buffers do
+            TaskSummary large = new TaskSummary(1L, "x".repeat(256 * 1024), null, null, false);
+            for (int i = 0; i < 40; i++) eventBroker.publish(stalledUser.getId(), TaskEvent.Type.UPDATED, 1L, large);
+
+            BlockingQueue<String> healthy = open(healthyToken, null);
+            next(healthy, ":open");
+            createTask(healthyToken, "still flowing");
+            assertThat(next(healthy, "event:")).isEqualTo("event:created");
+
+            awaitTrue(() -> eventBroker.getDroppedStreamCount() >= droppedBefore + stalledCount);
+        } finally {
+            for (Socket socket : stalled) socket.close();
+        }
+    }
+
+    private String register(String username) {
+        userService.registerUser(username, "secret", username + "@example.com");
+        return jwtService.generateToken(username);
+    }
+
+    private void createTask(String token, String title) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + title + "\"}"))
+                .build();
+        assertThat(http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+    }
+
+    // Streams lines of the SSE response into a queue on a background thread
+    private BlockingQueue<String> open(String token, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/api/tasks/stream"))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) request.header("Last-Event-ID", lastEventId);
+
+        HttpResponse<Stream<String>> response = http.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> response.body().forEach(lines::add));
+        reader.setDaemon(true);
+        reader.start();
+        return lines;
+    }
+
+    // Sends the stream request on a socket with a tiny receive buffer and stops reading once the stream
+    // has opened; events published before then would be written by the request thread, not the broker
+    private Socket openWithoutReading(String token) throws IOException {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(1024);
+        socket.setSoTimeout(5000);
+        socket.connect(new InetSocketAddress("localhost", port));
+        String request = "GET /api/tasks/stream HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token
+                + "\r\nAccept: text/event-stream\r\n\r\n";
+        socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        StringBuilder received = new StringBuilder();
+        while (received.indexOf(":open") < 0) {
+            int b = socket.getInputStream().read();
+            assertThat(b).as("stream preamble").isNotNegative();
+            received.append((char) b);
+        }
+        return socket;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition within 10s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static String next(BlockingQueue<String> lines, String prefix) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(5, TimeUnit.SECONDS);
+            assertThat(line).as("SSE line starting with " + prefix).isNotNull();
+            if (line.startsWith(prefix)) return line;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,79 @@
+package com.todoapp.controller;
+
+import com.todoapp.service.JwtService;
+import com.todoapp.service.UserService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The virtual-threads profile really serves requests on virtual threads, authenticated ones included. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("virtual-threads")
+class VirtualThreadProfileTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RequestThreadRecorder recorder;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void requestRunsOnAVirtualThread() throws Exception {
+        userService.registerUser("virtual", "secret", "virtual@example.com");
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks"))
+                .header("Authorization", "Bearer " + jwtService.generateToken("virtual"))
+                .GET()
+                .build();
+
+        assertThat(http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        Thread thread = recorder.last.get();
+        assertThat(thread).isNotNull();
+        assertThat(thread.isVirtual()).as("request thread %s", thread).isTrue();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RequestThreadRecorder requestThreadRecorder() {
+            return new RequestThreadRecorder();
+        }
+    }
+
+    // Any servlet filter runs on the thread the container dispatched the request to
+    static class RequestThreadRecorder extends OncePerRequestFilter {
+        final AtomicReference<Thread> last = new AtomicReference<>();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            last.set(Thread.currentThread());
+            chain.doFilter(request, response);
+        }
+    }
+}
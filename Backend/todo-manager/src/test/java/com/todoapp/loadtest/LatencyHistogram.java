@@ -0,0 +1,75 @@
+package com.todoapp.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log-linear latency histogram in microseconds: exact below 128 us, then 64 buckets per power of
+ * two (about 1.5% resolution) up to hours. Not thread-safe; each client keeps its own and they are
+ * merged once the run ends.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 64;
+    private static final int LINEAR = 2 * SUB_BUCKETS;
+    private static final int MAX_SHIFT = 40;
+
+    private final long[] counts = new long[LINEAR + MAX_SHIFT * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[Math.min(index(value), counts.length - 1)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) counts[i] += other.counts[i];
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /** Upper bound of the bucket holding the {@code p}-th value, so a percentile is never understated. */
+    long percentile(double p) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    /** Non-empty buckets as {@code [upper bound us, count]}, in increasing order. */
+    List<long[]> buckets() {
+        List<long[]> buckets = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) buckets.add(new long[] { upperBound(i), counts[i] });
+        }
+        return buckets;
+    }
+
+    static int index(long value) {
+        if (value < LINEAR) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    static long upperBound(int index) {
+        if (index < LINEAR) return index;
+        int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+        long lower = ((long) ((index - LINEAR) % SUB_BUCKETS) + SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,46 @@
+package com.todoapp.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithinResolution() {
+        for (long value = 0; value < 10_000_000; value += 1 + value / 100) {
+            int index = LatencyHistogram.index(value);
+            assertThat(LatencyHistogram.upperBound(index)).isGreaterThanOrEqualTo(value);
+            assertThat(LatencyHistogram.upperBound(index)).isLessThanOrEqualTo(value + Math.max(1, value / 60));
+            if (index > 0) assertThat(LatencyHistogram.upperBound(index - 1)).isLessThan(value);
+        }
+    }
+
+    @Test
+    void percentilesOfUniformLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) histogram.record(micros);
+
+        assertThat(histogram.count()).isEqualTo(10_000);
+        assertThat(histogram.percentile(0.50)).isBetween(5_000L, 5_080L);
+        assertThat(histogram.percentile(0.99)).isBetween(9_900L, 10_000L);
+        assertThat(histogram.percentile(0.999)).isBetween(9_990L, 10_000L);
+        assertThat(histogram.max()).isEqualTo(10_000);
+    }
+
+    @Test
+    void mergeAddsCounts() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(100);
+        b.record(100);
+        b.record(2_000_000);
+
+        a.merge(b);
+
+        assertThat(a.count()).isEqualTo(3);
+        assertThat(a.max()).isEqualTo(2_000_000);
+        assertThat(a.buckets()).hasSize(2);
+        assertThat(a.buckets().get(0)[1]).isEqualTo(2);
+    }
+}
@@ -0,0 +1,115 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.todoapp.TodoManagerApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: runs a {@link Scenario} through {@link WorkloadGenerator}, prints throughput
+ * and p50/p99/p999 per operation, and writes the full result with its latency histograms to
+ * {@code target/loadtest/<scenario>-<time>.json} for comparing runs. Without {@code -Dloadtest.url}
+ * the app is started in this JVM on a random port, against a fresh in-memory store.
+ * Opt-in: {@code mvn test -Dtest=LoadTest -Dloadtest.scenario=read-heavy [-Dloadtest.url=http://localhost:8080]}
+ */
+@EnabledIfSystemProperty(named = "loadtest.scenario", matches = ".+")
+class LoadTest {
+
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+    @Test
+    void runScenario() throws Exception {
+        Scenario scenario = Scenario.load(System.getProperty("loadtest.scenario"));
+        String url = System.getProperty("loadtest.url");
+        ConfigurableApplicationContext context = null;
+        if (url == null) {
+            // Command-line arguments, since application.properties would override builder defaults
+            context = new SpringApplicationBuilder(TodoManagerApplication.class)
+                    .run("--server.port=0", "--rate-limit.enabled=false",
+                            "--spring.datasource.url=jdbc:h2:mem:loadtest-" + System.nanoTime());
+            url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        WorkloadGenerator.Report report;
+        try {
+            report = new WorkloadGenerator(URI.create(url), scenario).run();
+        } finally {
+            if (context != null) context.close();
+        }
+
+        print(report);
+        Path written = write(report);
+        System.out.println("Results written to " + written.toAbsolutePath());
+
+        LatencyHistogram total = report.total();
+        assertThat(total.count()).isPositive();
+        assertThat((double) report.totalErrors() / total.count()).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    }
+
+    private static void print(WorkloadGenerator.Report report) {
+        Scenario scenario = report.scenario();
+        System.out.printf("%nScenario %s: %d users x %d tasks, %d clients, %s measured after %s warmup%n",
+                scenario.name(), scenario.users(), scenario.tasksPerUser(), scenario.clients(), scenario.duration(), scenario.warmup());
+        System.out.printf("%-10s %10s %8s %10s %10s %10s %10s %10s%n", "operation", "requests", "errors", "req/s",
+                "p50 ms", "p99 ms", "p999 ms", "max ms");
+        report.latencies().forEach((operation, histogram) ->
+                printRow(operation.key(), histogram, report.errors().get(operation), report.seconds()));
+        printRow("total", report.total(), report.totalErrors(), report.seconds());
+    }
+
+    private static void printRow(String label, LatencyHistogram histogram, long errors, double seconds) {
+        System.out.printf("%-10s %10d %8d %10.0f %10.2f %10.2f %10.2f %10.2f%n", label, histogram.count(), errors,
+                histogram.count() / seconds, histogram.percentile(0.50) / 1e3, histogram.percentile(0.99) / 1e3,
+                histogram.percentile(0.999) / 1e3, histogram.max() / 1e3);
+    }
+
+    private static Path write(WorkloadGenerator.Report report) throws Exception {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        report.latencies().forEach((operation, histogram) ->
+                operations.put(operation.key(), summary(histogram, report.errors().get(operation), report.seconds())));
+        operations.put("total", summary(report.total(), report.totalErrors(), report.seconds()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", report.scenario().name());
+        result.put("startedAt", LocalDateTime.now().toString());
+        result.put("users", report.scenario().users());
+        result.put("tasksPerUser", report.scenario().tasksPerUser());
+        result.put("clients", report.scenario().clients());
+        result.put("seconds", report.seconds());
+        result.put("mix", report.scenario().mix());
+        result.put("operations", operations);
+
+        Path directory = Files.createDirectories(Path.of("target", "loadtest"));
+        Path file = directory.resolve(report.scenario().name() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), result);
+        return file;
+    }
+
+    private static Map<String, Object> summary(LatencyHistogram histogram, long errors, double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.count());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.count() / seconds);
+        summary.put("p50Micros", histogram.percentile(0.50));
+        summary.put("p99Micros", histogram.percentile(0.99));
+        summary.put("p999Micros", histogram.percentile(0.999));
+        summary.put("maxMicros", histogram.max());
+        // [upper bound in microseconds, count] for each non-empty bucket
+        summary.put("histogram", histogram.buckets());
+        return summary;
+    }
+}
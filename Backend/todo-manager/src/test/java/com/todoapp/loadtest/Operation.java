@@ -0,0 +1,18 @@
+package com.todoapp.loadtest;
+
+import java.util.Locale;
+
+/** The calls a load-test client can make; scenario files weight them as {@code mix.<name>}. */
+enum Operation {
+    LIST,       // GET /api/tasks
+    PAGE,       // GET /api/tasks?size=50
+    CREATE,     // POST /api/tasks
+    UPDATE,     // PUT /api/tasks/{id}
+    COMPLETE,   // PUT /api/tasks/{id}/complete
+    DELETE,     // DELETE /api/tasks/{id}
+    LOGIN;      // POST /api/auth/login
+
+    String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
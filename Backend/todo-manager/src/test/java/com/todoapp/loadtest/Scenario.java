@@ -0,0 +1,87 @@
+package com.todoapp.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/**
+ * A load-test workload read from a properties file: how many users and tasks to seed, how many
+ * concurrent clients to run for how long, and the relative weight of each {@link Operation}.
+ * Named scenarios live in {@code src/test/resources/loadtest}; a path to any other file also works.
+ */
+record Scenario(String name, int users, int tasksPerUser, int clients, Duration warmup, Duration duration,
+                Duration thinkTime, long seed, Map<Operation, Integer> mix) {
+
+    Scenario {
+        if (users < 1 || clients < 1 || tasksPerUser < 0) {
+            throw new IllegalArgumentException(name + ": users and clients must be positive");
+        }
+        if (clients > users) {
+            // Each client owns a disjoint set of users, so no two clients fight over the same tasks
+            throw new IllegalArgumentException(name + ": clients (" + clients + ") cannot exceed users (" + users + ")");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException(name + ": the operation mix is empty");
+        }
+        mix = Collections.unmodifiableMap(new EnumMap<>(mix));
+    }
+
+    static Scenario load(String nameOrPath) {
+        Properties properties = new Properties();
+        String name = nameOrPath;
+        try {
+            if (nameOrPath.endsWith(".properties")) {
+                Path path = Path.of(nameOrPath);
+                name = path.getFileName().toString().replace(".properties", "");
+                try (InputStream in = Files.newInputStream(path)) {
+                    properties.load(in);
+                }
+            } else {
+                try (InputStream in = Scenario.class.getResourceAsStream("/loadtest/" + nameOrPath + ".properties")) {
+                    if (in == null) throw new IllegalArgumentException("No scenario named " + nameOrPath);
+                    properties.load(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, Integer.parseInt(properties.getProperty("mix." + operation.key(), "0").trim()));
+        }
+        return new Scenario(name,
+                intProperty(properties, "users", 100),
+                intProperty(properties, "tasks-per-user", 100),
+                intProperty(properties, "clients", 16),
+                Duration.parse(properties.getProperty("warmup", "PT10S").trim()),
+                Duration.parse(properties.getProperty("duration", "PT60S").trim()),
+                Duration.parse(properties.getProperty("think-time", "PT0S").trim()),
+                Long.parseLong(properties.getProperty("seed", "42").trim()),
+                mix);
+    }
+
+    /** Picks the next operation by weight. */
+    Operation next(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int pick = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,273 @@
+package com.todoapp.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Drives a running app over HTTP with the workload a {@link Scenario} describes. It registers the
+ * users, seeds their tasks through {@code /api/tasks/batch}, then runs closed-loop clients: each
+ * one sends its next request as soon as the previous one answers (plus the think time) and records
+ * its latency per {@link Operation}. Warmup requests are sent but not recorded.
+ * <p>
+ * Every client owns a disjoint set of users and tracks their live task ids, so updates, completes
+ * and deletes always hit an existing task. The random sequence is fixed by the scenario seed.
+ */
+final class WorkloadGenerator {
+
+    /** Latencies and failures per operation over the measured part of the run. */
+    record Report(Scenario scenario, double seconds, Map<Operation, LatencyHistogram> latencies, Map<Operation, Long> errors) {
+
+        LatencyHistogram total() {
+            LatencyHistogram total = new LatencyHistogram();
+            latencies.values().forEach(total::merge);
+            return total;
+        }
+
+        long totalErrors() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private static final String PASSWORD = "load-test-secret";
+    private static final int SEED_BATCH = 1000;
+    private static final int REGISTER_THREADS = 8;
+    // Below the 15 minute access token lifetime, so long runs never send an expired token
+    private static final long TOKEN_RENEWAL_NANOS = 10L * 60 * 1_000_000_000;
+    private static final String[] WORDS = {
+            "report", "review", "invoice", "meeting", "call", "email", "draft", "budget", "plan", "design",
+            "deploy", "fix", "test", "refactor", "order", "renew", "book", "schedule", "prepare", "update"
+    };
+
+    private final URI baseUri;
+    private final Scenario scenario;
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    // Usernames are unique per run, so the same server can take several runs in a row
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    WorkloadGenerator(URI baseUri, Scenario scenario) {
+        this.baseUri = baseUri;
+        this.scenario = scenario;
+    }
+
+    Report run() throws Exception {
+        List<VirtualUser> users = registerUsers();
+        for (VirtualUser user : users) seed(user, new SplittableRandom(scenario.seed() + user.index));
+
+        List<Client> clients = new ArrayList<>();
+        for (int c = 0; c < scenario.clients(); c++) clients.add(new Client(c));
+        for (VirtualUser user : users) clients.get(user.index % clients.size()).users.add(user);
+
+        long warmupEnd = System.nanoTime() + scenario.warmup().toNanos();
+        long end = warmupEnd + scenario.duration().toNanos();
+        List<Future<?>> running = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(clients.size())) {
+            for (Client client : clients) running.add(pool.submit(() -> client.run(warmupEnd, end)));
+        }
+        for (Future<?> future : running) future.get();
+
+        Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram merged = new LatencyHistogram();
+            long failed = 0;
+            for (Client client : clients) {
+                merged.merge(client.latencies.get(operation));
+                failed += client.errors.get(operation);
+            }
+            if (merged.count() > 0 || failed > 0) {
+                latencies.put(operation, merged);
+                errors.put(operation, failed);
+            }
+        }
+        return new Report(scenario, scenario.duration().toNanos() / 1e9, latencies, errors);
+    }
+
+    // ---------------- Setup ----------------
+    private List<VirtualUser> registerUsers() throws Exception {
+        List<Future<VirtualUser>> pending = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(REGISTER_THREADS)) {
+            for (int u = 0; u < scenario.users(); u++) {
+                int index = u;
+                pending.add(pool.submit(() -> register(index)));
+            }
+        }
+        List<VirtualUser> users = new ArrayList<>();
+        for (Future<VirtualUser> future : pending) users.add(future.get());
+        return users;
+    }
+
+    private VirtualUser register(int index) throws IOException, InterruptedException {
+        String username = "load-" + runId + "-" + index;
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD
+                + "\",\"email\":\"" + username + "@example.com\"}";
+        HttpResponse<String> response = sendWithRetry(post("/api/auth/register", null, body));
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Registering " + username + " failed: " + response.statusCode() + " " + response.body());
+        }
+        return new VirtualUser(index, username, mapper.readTree(response.body()).path("token").asText());
+    }
+
+    private void seed(VirtualUser user, SplittableRandom random) throws IOException, InterruptedException {
+        for (int offset = 0; offset < scenario.tasksPerUser(); offset += SEED_BATCH) {
+            StringBuilder body = new StringBuilder("[");
+            int count = Math.min(SEED_BATCH, scenario.tasksPerUser() - offset);
+            for (int i = 0; i < count; i++) {
+                if (i > 0) body.append(',');
+                body.append("{\"op\":\"CREATE\",").append(taskFields(random)).append('}');
+            }
+            HttpResponse<String> response = sendWithRetry(post("/api/tasks/batch", user.token, body.append(']').toString()));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding " + user.username + " failed: " + response.statusCode());
+            }
+            for (JsonNode result : mapper.readTree(response.body())) user.taskIds.add(result.path("id").asLong());
+        }
+    }
+
+    // ---------------- Measured run ----------------
+    private final class Client {
+        final int index;
+        final List<VirtualUser> users = new ArrayList<>();
+        final Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+        final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        Client(int index) {
+            this.index = index;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, new LatencyHistogram());
+                errors.put(operation, 0L);
+            }
+        }
+
+        Void run(long warmupEnd, long end) throws Exception {
+            SplittableRandom random = new SplittableRandom(scenario.seed() * 31 + index);
+            long thinkMillis = scenario.thinkTime().toMillis();
+            for (long now = System.nanoTime(); now < end; now = System.nanoTime()) {
+                VirtualUser user = users.get(random.nextInt(users.size()));
+                if (now - user.tokenIssuedAt > TOKEN_RENEWAL_NANOS) execute(Operation.LOGIN, user, random);
+                Operation operation = scenario.next(random);
+                // Nothing left to touch: create instead, so the mix keeps its shape
+                if (user.taskIds.isEmpty() && (operation == Operation.UPDATE || operation == Operation.COMPLETE
+                        || operation == Operation.DELETE)) {
+                    operation = Operation.CREATE;
+                }
+
+                long start = System.nanoTime();
+                boolean ok = execute(operation, user, random);
+                long micros = (System.nanoTime() - start) / 1_000;
+                if (start >= warmupEnd) {
+                    latencies.get(operation).record(micros);
+                    if (!ok) errors.merge(operation, 1L, Long::sum);
+                }
+                if (thinkMillis > 0) Thread.sleep(thinkMillis);
+            }
+            return null;
+        }
+    }
+
+    private boolean execute(Operation operation, VirtualUser user, SplittableRandom random) throws IOException, InterruptedException {
+        HttpResponse<String> response = switch (operation) {
+            case LIST -> send(get("/api/tasks", user.token));
+            case PAGE -> send(get("/api/tasks?size=50", user.token));
+            case CREATE -> send(post("/api/tasks", user.token, "{" + taskFields(random) + "}"));
+            case UPDATE -> send(request("/api/tasks/" + user.randomTask(random), user.token)
+                    .PUT(HttpRequest.BodyPublishers.ofString("{" + taskFields(random) + "}")).build());
+            case COMPLETE -> send(request("/api/tasks/" + user.randomTask(random) + "/complete", user.token)
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build());
+            case DELETE -> send(request("/api/tasks/" + user.removeRandomTask(random), user.token).DELETE().build());
+            case LOGIN -> send(post("/api/auth/login", null,
+                    "{\"username\":\"" + user.username + "\",\"password\":\"" + PASSWORD + "\"}"));
+        };
+        if (response.statusCode() != 200) return false;
+        if (operation == Operation.CREATE) {
+            user.taskIds.add(mapper.readTree(response.body()).path("id").asLong());
+        } else if (operation == Operation.LOGIN) {
+            // Access tokens are short-lived; logging in is also how a client renews its token
+            user.token = mapper.readTree(response.body()).path("token").asText();
+            user.tokenIssuedAt = System.nanoTime();
+        }
+        return true;
+    }
+
+    private static String taskFields(SplittableRandom random) {
+        String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        String priority = switch (random.nextInt(4)) {
+            case 0 -> "null";
+            case 1 -> "\"HIGH\"";
+            case 2 -> "\"MEDIUM\"";
+            default -> "\"LOW\"";
+        };
+        String dueDate = random.nextInt(5) == 0 ? "null" : "\"" + LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)) + "\"";
+        return "\"title\":\"" + title + "\",\"priority\":" + priority + ",\"dueDate\":" + dueDate;
+    }
+
+    // ---------------- HTTP ----------------
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Setup calls honour 503 + Retry-After from the hashing pool instead of failing the run
+    private HttpResponse<String> sendWithRetry(HttpRequest request) throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            HttpResponse<String> response = send(request);
+            if (response.statusCode() != 503 || attempt == 20) return response;
+            long seconds = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(seconds * 1_000);
+        }
+    }
+
+    private static final class VirtualUser {
+        final int index;
+        final String username;
+        final List<Long> taskIds = new ArrayList<>();
+        volatile String token;
+        volatile long tokenIssuedAt = System.nanoTime();
+
+        VirtualUser(int index, String username, String token) {
+            this.index = index;
+            this.username = username;
+            this.token = token;
+        }
+
+        long randomTask(SplittableRandom random) {
+            return taskIds.get(random.nextInt(taskIds.size()));
+        }
+
+        // Swap-remove keeps deletion O(1); order does not matter
+        long removeRandomTask(SplittableRandom random) {
+            int i = random.nextInt(taskIds.size());
+            long id = taskIds.get(i);
+            taskIds.set(i, taskIds.get(taskIds.size() - 1));
+            taskIds.remove(taskIds.size() - 1);
+            return id;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.todoapp.repository;
+
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema from the Flyway migrations only, as the persistent profile does, and has
+ * Hibernate validate the entities against it before checking that the hot queries work.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+class MigrationSchemaTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void entitiesRoundTripThroughMigratedSchema() {
+        User user = userRepository.save(new User("migrated", "secret", "migrated@example.com"));
+        taskRepository.save(new Task("first", LocalDate.of(2026, 3, 1), Task.Priority.HIGH, user));
+        taskRepository.save(new Task("second", null, null, user));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskSummary> dated = taskRepository.findPageByDueDate(user.getId(), List.of(true, false),
+                LocalDate.of(1, 1, 1), 0L, PageRequest.of(0, 10));
+        List<TaskSummary> undated = taskRepository.findPageWithoutDueDate(user.getId(), List.of(true, false),
+                0L, PageRequest.of(0, 10));
+
+        assertThat(dated).extracting(TaskSummary::getTitle).containsExactly("first");
+        assertThat(undated).extracting(TaskSummary::getTitle).containsExactly("second");
+        assertThat(userRepository.findByUsername("migrated")).isPresent();
+    }
+
+    @Test
+    void migrationsCreateTheTaskIndexes() {
+        List<?> indexes = entityManager.createNativeQuery(
+                "select index_name from information_schema.indexes where table_name = 'TASKS'").getResultList();
+
+        assertThat(indexes).extracting(String::valueOf)
+                .contains("IDX_TASKS_USER_COMPLETED_DUE", "IDX_TASKS_USER_PRIORITY", "IDX_TASKS_USER_VERSION");
+    }
+}
@@ -0,0 +1,73 @@
+package com.todoapp.repository;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2's EXPLAIN over the SQL behind the hot {@link TaskRepository} queries
+ * and fails if any of them falls back to a table scan or leaves its index.
+ */
+@DataJpaTest
+class TaskQueryPlanTest {
+
+    private static final String SELECT = "select t.id, t.title, t.due_date, t.priority, t.completed from tasks t ";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        Task.Priority[] priorities = Task.Priority.values();
+        for (int u = 0; u < 4; u++) {
+            User user = new User("plan-user-" + u, "secret", "plan-user-" + u + "@example.com");
+            entityManager.persist(user);
+            for (int i = 0; i < 250; i++) {
+                Task task = new Task("task " + i, LocalDate.of(2026, 1, 1).plusDays(i % 90),
+                        priorities[i % priorities.length], user);
+                task.setCompleted(i % 3 == 0);
+                entityManager.persist(task);
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void findByUserUsesAnIndex() {
+        assertThat(explain(SELECT + "where t.user_id = 1"))
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void findByUserAndCompletedUsesCompletedDueDateIndex() {
+        assertThat(explain(SELECT + "where t.user_id = 1 and t.completed = true"))
+                .containsIgnoringCase("IDX_TASKS_USER_COMPLETED_DUE");
+    }
+
+    @Test
+    void dueDatePageUsesCompletedDueDateIndex() {
+        assertThat(explain(SELECT + "where t.user_id = 1 and t.completed in (false) and t.due_date is not null "
+                + "and (t.due_date > date '2026-01-15' or (t.due_date = date '2026-01-15' and t.id > 10)) "
+                + "order by t.due_date, t.id fetch first 51 rows only"))
+                .containsIgnoringCase("IDX_TASKS_USER_COMPLETED_DUE");
+    }
+
+    @Test
+    void priorityPageUsesPriorityIndex() {
+        assertThat(explain(SELECT + "where t.user_id = 1 and t.completed in (true, false) and t.priority = 'HIGH' "
+                + "and t.id > 10 order by t.id fetch first 51 rows only"))
+                .containsIgnoringCase("IDX_TASKS_USER_PRIORITY");
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,80 @@
+package com.todoapp.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** The verified-token cache: hits on repeat, entries die with their token, and it never lets a bad token through. */
+class JwtServiceTest {
+
+    private static final String SECRET = "testSecretKey123456789012345678901234567890";
+
+    private final JwtService jwtService = new JwtService(SECRET, 900_000, 100);
+
+    @Test
+    void secondVerifyOfSameTokenIsACacheHit() {
+        String token = jwtService.generateToken("alice");
+
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.getCacheStats().missCount()).isEqualTo(1);
+        assertThat(jwtService.getCacheStats().hitCount()).isEqualTo(1);
+        assertThat(jwtService.getCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void entryExpiresWithItsToken() throws InterruptedException {
+        JwtService shortLived = new JwtService(SECRET, 1_500, 100);
+        String token = shortLived.generateToken("alice");
+        shortLived.verify(token);
+        assertThat(shortLived.verify(token)).isNotNull();
+        long missesBefore = shortLived.getCacheStats().missCount();
+
+        // exp has second precision, so the token is gone at most 1.5s from now
+        Thread.sleep(2_100);
+
+        assertThatThrownBy(() -> shortLived.verify(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(shortLived.getCacheStats().missCount()).isEqualTo(missesBefore + 1);
+    }
+
+    @Test
+    void tamperedTokenIsRejectedWhileTheOriginalIsCached() {
+        String token = jwtService.generateToken("alice");
+        jwtService.verify(token);
+
+        String[] parts = token.split("\\.");
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.replace("\"alice\"", "\"mallory\"").getBytes(StandardCharsets.UTF_8));
+        String tampered = parts[0] + "." + forged + "." + parts[2];
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtService.verify(token).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void expiredTokenIsRejectedWhileAValidOneIsCached() {
+        jwtService.verify(jwtService.generateToken("alice"));
+        String expired = new JwtService(SECRET, -60_000, 100).generateToken("alice");
+
+        assertThatThrownBy(() -> jwtService.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtService.getCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenFromAnotherKeyIsRejected() {
+        jwtService.verify(jwtService.generateToken("alice"));
+        String foreign = new JwtService("otherSecretKey12345678901234567890123456789", 900_000, 100).generateToken("alice");
+
+        assertThatThrownBy(() -> jwtService.verify(foreign)).isInstanceOf(JwtException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.todoapp.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void shutdown() {
+        if (hasher != null) hasher.shutdown();
+    }
+
+    @Test
+    void hashesAndVerifiesOnThePool() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4, Duration.ofSeconds(5));
+
+        String encoded = hasher.encode("secret");
+
+        assertThat(hasher.matches("secret", encoded)).isTrue();
+        assertThat(hasher.matches("wrong", encoded)).isFalse();
+        assertThat(hasher.getHashCount()).isEqualTo(3);
+    }
+
+    @Test
+    void flagsHashesWithADifferentCost() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 5, 1, 4, Duration.ofSeconds(5));
+
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        hasher = new PasswordHasher(blockingEncoder(started, release), 10, 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+        while (hasher.getQueueDepth() == 0) Thread.onSpinWait();
+
+        assertThatThrownBy(() -> hasher.encode("c")).isInstanceOf(PasswordHasher.BusyException.class);
+        assertThat(hasher.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed");
+    }
+
+    // Parks the pool thread until released, so the test controls when the queue drains
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.todoapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Burst, refill and per-key isolation of the token buckets, on a clock passed in by hand. */
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void burstThenOneTokenPerInterval() {
+        RateLimiter limiter = new RateLimiter(3, Duration.ofSeconds(1), 100);
+        long now = 10 * SECOND;
+
+        for (int i = 0; i < 3; i++) assertThat(limiter.tryAcquire("a", now)).isZero();
+        assertThat(limiter.tryAcquire("a", now)).isEqualTo(SECOND);
+        assertThat(limiter.tryAcquire("a", now + SECOND / 2)).isEqualTo(SECOND / 2);
+
+        assertThat(limiter.tryAcquire("a", now + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("a", now + SECOND)).isPositive();
+        assertThat(limiter.getRejectedCount()).isEqualTo(3);
+    }
+
+    @Test
+    void idleBucketRefillsOnlyUpToCapacity() {
+        RateLimiter limiter = new RateLimiter(2, Duration.ofSeconds(1), 100);
+        for (int i = 0; i < 2; i++) limiter.tryAcquire("a", 0);
+
+        long later = 60 * SECOND;
+        assertThat(limiter.tryAcquire("a", later)).isZero();
+        assertThat(limiter.tryAcquire("a", later)).isZero();
+        assertThat(limiter.tryAcquire("a", later)).isPositive();
+    }
+
+    @Test
+    void keysHaveTheirOwnBuckets() {
+        RateLimiter limiter = new RateLimiter(1, Duration.ofMinutes(1), 100);
+
+        assertThat(limiter.tryAcquire(1L, 0)).isZero();
+        assertThat(limiter.tryAcquire(1L, 0)).isPositive();
+        assertThat(limiter.tryAcquire(2L, 0)).isZero();
+        assertThat(limiter.tryAcquire("1", 0)).isZero();
+    }
+
+    @Test
+    void concurrentCallersNeverTakeMoreThanTheBucketHolds() throws Exception {
+        RateLimiter limiter = new RateLimiter(10_000, Duration.ofHours(1), 100);
+        LongAdder granted = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int t = 0; t < 32; t++) {
+                callers.add(pool.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire("shared", 0) == 0) granted.increment();
+                    }
+                }));
+            }
+            for (Future<?> caller : callers) caller.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(granted.sum()).isEqualTo(10_000);
+        assertThat(limiter.getRejectedCount()).isEqualTo(32 * 1_000 - 10_000);
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.User;
+import com.todoapp.repository.RefreshTokenRepository;
+import com.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Rotation, replay detection and expiry of refresh tokens. */
+@DataJpaTest
+@Import(RefreshTokenService.class)
+@TestPropertySource(properties = "jwt.refresh.ttl=1h")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepository.save(new User("refresher", "secret", "refresher@example.com"));
+    }
+
+    @Test
+    void rotationIssuesANewTokenForTheSameUser() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Issued rotated = refreshTokenService.rotate(first).orElseThrow();
+
+        assertThat(rotated.user().getUsername()).isEqualTo("refresher");
+        assertThat(rotated.refreshToken()).isNotEqualTo(first);
+        assertThat(refreshTokenService.rotate(rotated.refreshToken())).isPresent();
+    }
+
+    @Test
+    void replayingARotatedTokenRevokesTheFamily() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).orElseThrow().refreshToken();
+
+        assertThat(refreshTokenService.rotate(first)).isEmpty();
+        assertThat(refreshTokenService.rotate(second)).isEmpty();
+    }
+
+    @Test
+    void revokeDropsTheFamilyButNotOtherSessions() {
+        String phone = refreshTokenService.issue(user);
+        String laptop = refreshTokenService.issue(user);
+
+        refreshTokenService.revoke(phone);
+
+        assertThat(refreshTokenService.rotate(phone)).isEmpty();
+        assertThat(refreshTokenService.rotate(laptop)).isPresent();
+    }
+
+    @Test
+    void sweepRemovesExpiredTokens() {
+        String token = refreshTokenService.issue(user);
+        refreshTokenRepository.findAll().forEach(stored -> stored.setExpiresAt(Instant.now().minusSeconds(1)));
+        refreshTokenRepository.flush();
+
+        assertThat(refreshTokenService.sweepExpired()).isEqualTo(1);
+        assertThat(refreshTokenService.rotate(token)).isEmpty();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThat(refreshTokenService.rotate("not-a-token")).isEmpty();
+    }
+}
@@ -0,0 +1,105 @@
+package com.todoapp.service;
+
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repeated reads through {@link TaskService} are served from the second-level cache, every kind of
+ * write made through the service is visible to the next read, and a write leaves other users' lists cached.
+ */
+@SpringBootTest(properties = { "spring.datasource.url=jdbc:h2:mem:task-cache",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+class TaskCacheTest {
+
+    private static final String LIST_REGION = "com.todoapp.entity.User.tasks";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityCacheStats cacheStats;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = register("cached-");
+    }
+
+    @Test
+    void repeatedReadsSkipTheDatabase() {
+        create("first");
+        taskService.getAllTasksForUser(user);
+        cacheStats.clear();
+
+        List<Task> tasks = taskService.getAllTasksForUser(user);
+
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("first");
+        assertThat(cacheStats.getStatementCount()).isZero();
+        assertThat(cacheStats.getRegionStats().get(LIST_REGION).hits()).isEqualTo(1);
+    }
+
+    @Test
+    void writesThroughTheServiceInvalidate() {
+        Task kept = create("kept");
+        Task removed = create("removed");
+        assertThat(taskService.getPendingTasksForUser(user)).hasSize(2);
+
+        create("added");
+        assertThat(taskService.getAllTasksForUser(user)).extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("kept", "removed", "added");
+
+        Task details = new Task("renamed", LocalDate.of(2026, 3, 1), Task.Priority.HIGH, user);
+        taskService.updateTask(kept.getId(), user, details);
+        taskService.completeTask(kept.getId(), user);
+        taskService.deleteTask(removed.getId(), user);
+
+        assertThat(taskService.getCompletedTasksForUser(user)).singleElement().satisfies(task -> {
+            assertThat(task.getTitle()).isEqualTo("renamed");
+            assertThat(task.getPriority()).isEqualTo(Task.Priority.HIGH);
+        });
+        assertThat(taskService.getPendingTasksForUser(user)).extracting(Task::getTitle).containsExactly("added");
+    }
+
+    @Test
+    void writesByOneUserLeaveAnothersListCached() {
+        User other = register("cached-other-");
+        taskService.createTask(new Task("theirs", null, Task.Priority.LOW, other));
+        Task edited = create("edited");
+        Task removed = create("removed");
+        taskService.getAllTasksForUser(user);
+        taskService.getAllTasksForUser(other);
+
+        create("added");
+        taskService.updateTask(edited.getId(), user, new Task("renamed", null, Task.Priority.HIGH, user));
+        taskService.completeTask(edited.getId(), user);
+        taskService.deleteTask(removed.getId(), user);
+        cacheStats.clear();
+
+        assertThat(taskService.getAllTasksForUser(other)).extracting(Task::getTitle).containsExactly("theirs");
+        assertThat(cacheStats.getStatementCount()).isZero();
+        assertThat(cacheStats.getRegionStats().get(LIST_REGION).hits()).isEqualTo(1);
+        assertThat(taskService.getAllTasksForUser(user)).extracting(Task::getTitle).containsExactly("renamed", "added");
+    }
+
+    private User register(String prefix) {
+        String username = prefix + System.nanoTime();
+        return userService.registerUser(username, "secret", username + "@example.com");
+    }
+
+    private Task create(String title) {
+        return taskService.createTask(new Task(title, null, Task.Priority.MEDIUM, user));
+    }
+}
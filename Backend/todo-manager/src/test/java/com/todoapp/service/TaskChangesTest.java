@@ -0,0 +1,216 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskChanges;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TaskRepository;
+import com.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Delta sync through {@link TaskService#getChanges}: snapshots, deltas, tombstones, tokens and the tombstone purge.
+ * Every call commits on its own, as behind the controller, since a version still inside an open
+ * transaction holds tokens back; each test has its own user, so committed rows do not collide.
+ */
+@DataJpaTest
+@AutoConfigureJson
+@Import({ TaskService.class, TaskEventBroker.class, TaskTitleIndex.class, TaskStatsService.class, TaskReminderService.class,
+        TaskWriteBehind.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskChangesTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String username = "syncer-" + System.nanoTime();
+        user = userRepository.save(new User(username, "secret", username + "@example.com"));
+    }
+
+    @Test
+    void firstCallIsAFullSnapshotWithoutTombstones() {
+        Task kept = create("kept");
+        Task removed = create("removed");
+        taskService.deleteTask(removed.getId(), user);
+
+        TaskChanges changes = taskService.getChanges(user, null);
+
+        assertThat(changes.isFull()).isTrue();
+        assertThat(changes.getChanged()).extracting(TaskSummary::getId).containsExactly(kept.getId());
+        assertThat(changes.getDeleted()).isEmpty();
+    }
+
+    @Test
+    void tokenReturnsOnlyLaterChangesAndTombstones() {
+        Task untouched = create("untouched");
+        Task edited = create("edited");
+        Task removed = create("removed");
+        String token = taskService.getChanges(user, null).getToken();
+
+        taskService.completeTask(edited.getId(), user);
+        taskService.deleteTask(removed.getId(), user);
+        Task added = create("added");
+
+        TaskChanges changes = taskService.getChanges(user, token);
+
+        assertThat(changes.isFull()).isFalse();
+        assertThat(changes.getChanged()).extracting(TaskSummary::getId).containsExactly(edited.getId(), added.getId());
+        assertThat(changes.getChanged()).extracting(TaskSummary::getId).doesNotContain(untouched.getId());
+        assertThat(changes.getDeleted()).containsExactly(removed.getId());
+    }
+
+    @Test
+    void emptyDeltaKeepsTheToken() {
+        create("only");
+        String token = taskService.getChanges(user, null).getToken();
+
+        TaskChanges changes = taskService.getChanges(user, token);
+
+        assertThat(changes.getChanged()).isEmpty();
+        assertThat(changes.getToken()).isEqualTo(token);
+    }
+
+    @Test
+    void changeCommittedBehindALaterOneIsStillDelivered() throws Exception {
+        Task slow = create("slow");
+        Task fast = create("fast");
+        String token = taskService.getChanges(user, null).getToken();
+
+        // The slow transaction takes its version first but commits after the fast one
+        CountDownLatch versioned = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slowWriter = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.completeTask(slow.getId(), user);
+            versioned.countDown();
+            await(release);
+        }));
+        slowWriter.start();
+        assertThat(versioned.await(5, TimeUnit.SECONDS)).isTrue();
+        taskService.completeTask(fast.getId(), user);
+
+        TaskChanges whileInFlight = taskService.getChanges(user, token);
+        release.countDown();
+        slowWriter.join(5_000);
+        TaskChanges afterCommit = taskService.getChanges(user, whileInFlight.getToken());
+
+        assertThat(whileInFlight.getChanged()).extracting(TaskSummary::getId).containsExactly(fast.getId());
+        // The fast change is sent again: the first token could not pass the slow version
+        assertThat(afterCommit.getChanged()).extracting(TaskSummary::getId).containsExactly(slow.getId(), fast.getId());
+    }
+
+    @Test
+    void rolledBackVersionDoesNotHoldTokensBack() {
+        create("kept");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            create("rolled back");
+            status.setRollbackOnly();
+        });
+        Task later = create("later");
+        String token = taskService.getChanges(user, null).getToken();
+
+        Task last = create("last");
+
+        assertThat(taskService.getChanges(user, token).getChanged()).extracting(TaskSummary::getId)
+                .containsExactly(last.getId())
+                .doesNotContain(later.getId());
+    }
+
+    @Test
+    void emptySnapshotTokenStaysBelowRowsVersionedPastTheUsersLatest() {
+        String token = taskService.getChanges(user, null).getToken();
+
+        // As the reactive app writes: just above the user's stored versions, far below this service's clock
+        Task written = new Task("written elsewhere", null, null, user);
+        written.setVersion(taskRepository.findMaxVersion(user.getId()) + 1);
+        taskRepository.save(written);
+
+        assertThat(taskService.getChanges(user, token).getChanged()).extracting(TaskSummary::getId)
+                .containsExactly(written.getId());
+    }
+
+    @Test
+    void tokenOlderThanTheTombstoneRetentionForcesAReset() {
+        Task kept = create("kept");
+        long expired = (System.currentTimeMillis() - Duration.ofDays(31).toMillis()) * 1000;
+
+        TaskChanges changes = taskService.getChanges(user, token(expired));
+
+        assertThat(changes.isFull()).isTrue();
+        assertThat(changes.getChanged()).extracting(TaskSummary::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    void purgeDropsOnlyTombstonesPastTheRetention() {
+        Task expired = tombstone((System.currentTimeMillis() - Duration.ofDays(31).toMillis()) * 1000);
+        Task recent = create("recent");
+        taskService.deleteTask(recent.getId(), user);
+        Task live = create("live");
+
+        taskService.purgeTombstones();
+
+        assertThat(taskRepository.existsById(expired.getId())).isFalse();
+        assertThat(taskRepository.existsById(recent.getId())).isTrue();
+        assertThat(taskRepository.existsById(live.getId())).isTrue();
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThatThrownBy(() -> taskService.getChanges(user, "not-a-token"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Task tombstone(long version) {
+        Task task = new Task("deleted long ago", null, null, user);
+        task.setVersion(version);
+        task.setDeleted(true);
+        return taskRepository.save(task);
+    }
+
+    private static String token(long version) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(("sync|" + version).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Task create(String title) {
+        Task task = new Task(title, null, Task.Priority.MEDIUM, user);
+        return taskService.createTask(task);
+    }
+}
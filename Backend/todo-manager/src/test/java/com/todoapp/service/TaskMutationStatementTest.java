@@ -0,0 +1,123 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskOperationResult;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC statements behind the owner-scoped {@link TaskService} mutations: each is a single
+ * statement, which also tells a missing task (404) from another user's (403).
+ */
+@DataJpaTest
+@AutoConfigureJson
+@Import({ TaskService.class, TaskEventBroker.class, TaskTitleIndex.class, TaskStatsService.class, TaskReminderService.class,
+        TaskWriteBehind.class })
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskMutationStatementTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskService taskService;
+
+    private Statistics statistics;
+    private User owner;
+    private User stranger;
+    private Long taskId;
+
+    @BeforeEach
+    void seed() {
+        owner = new User("owner", "secret", "owner@example.com");
+        stranger = new User("stranger", "secret", "stranger@example.com");
+        entityManager.persist(owner);
+        entityManager.persist(stranger);
+        Task task = new Task("write report", LocalDate.of(2026, 1, 1), Task.Priority.LOW, owner);
+        entityManager.persist(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        taskId = task.getId();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void updateTaskIsOneStatement() {
+        Task details = new Task("rewrite report", LocalDate.of(2026, 2, 1), Task.Priority.HIGH, owner);
+
+        TaskOperationResult result = taskService.updateTask(taskId, owner, details);
+
+        assertThat(result.getStatus()).isEqualTo(200);
+        assertThat(result.getTask().getTitle()).isEqualTo("rewrite report");
+        assertThat(result.getTask().getPriority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stored().getTitle()).isEqualTo("rewrite report");
+    }
+
+    @Test
+    void completeTaskIsOneStatement() {
+        TaskOperationResult result = taskService.completeTask(taskId, owner);
+
+        assertThat(result.getStatus()).isEqualTo(200);
+        assertThat(result.getTask().isCompleted()).isTrue();
+        assertThat(result.getTask().getTitle()).isEqualTo("write report");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stored().isCompleted()).isTrue();
+    }
+
+    @Test
+    void deleteTaskIsOneStatement() {
+        assertThat(taskService.deleteTask(taskId, owner).getStatus()).isEqualTo(200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stored().isDeleted()).isTrue();
+    }
+
+    @Test
+    void callsByAnotherUserAreForbiddenAndWriteNothing() {
+        long version = stored().getVersion();
+        entityManager.clear();
+        statistics.clear();
+
+        assertThat(taskService.updateTask(taskId, stranger, new Task("hijacked", null, null, stranger)).getStatus()).isEqualTo(403);
+        assertThat(taskService.completeTask(taskId, stranger).getStatus()).isEqualTo(403);
+        assertThat(taskService.deleteTask(taskId, stranger).getStatus()).isEqualTo(403);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        Task task = stored();
+        assertThat(task.getTitle()).isEqualTo("write report");
+        assertThat(task.isCompleted()).isFalse();
+        assertThat(task.isDeleted()).isFalse();
+        assertThat(task.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void missingAndTombstonedTasksAreNotFound() {
+        assertThat(taskService.updateTask(taskId + 1000, owner, new Task("ghost", null, null, owner)).getStatus()).isEqualTo(404);
+        assertThat(taskService.deleteTask(taskId, owner).getStatus()).isEqualTo(200);
+
+        assertThat(taskService.completeTask(taskId, owner).getStatus()).isEqualTo(404);
+        assertThat(taskService.updateTask(taskId, owner, new Task("revived", null, null, owner)).getStatus()).isEqualTo(404);
+        assertThat(taskService.deleteTask(taskId, stranger).getStatus()).isEqualTo(404);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    private Task stored() {
+        entityManager.clear();
+        return entityManager.find(Task.class, taskId);
+    }
+}
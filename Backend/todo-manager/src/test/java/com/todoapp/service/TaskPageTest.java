@@ -0,0 +1,208 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** Keyset pages from {@link TaskService#getTaskPage}: orderings, ties, missing keys, cursors and the last page. */
+@DataJpaTest
+@AutoConfigureJson
+@Import({ TaskService.class, TaskEventBroker.class, TaskTitleIndex.class, TaskStatsService.class, TaskReminderService.class,
+        TaskWriteBehind.class })
+class TaskPageTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = userRepository.save(new User("pager", "secret", "pager@example.com"));
+    }
+
+    @Test
+    void dueDateTiesAreBrokenByIdAcrossPageBoundaries() {
+        Task later = create(DAY.plusDays(1), Task.Priority.LOW);
+        Task tieA = create(DAY, Task.Priority.LOW);
+        Task tieB = create(DAY, Task.Priority.HIGH);
+        Task tieC = create(DAY, null);
+
+        // Page size 2 splits the three tasks due on DAY across two pages
+        List<Long> ids = walk(null, TaskPage.Sort.DUE_DATE, 2);
+
+        assertThat(ids).containsExactly(tieA.getId(), tieB.getId(), tieC.getId(), later.getId());
+    }
+
+    @Test
+    void tasksWithoutDueDateComeLastInIdOrder() {
+        Task undatedA = create(null, Task.Priority.HIGH);
+        Task dated = create(DAY, Task.Priority.HIGH);
+        Task undatedB = create(null, Task.Priority.LOW);
+        Task undatedC = create(null, null);
+
+        // The second page starts inside the undated tail, so its cursor carries an empty key
+        List<Long> ids = walk(null, TaskPage.Sort.DUE_DATE, 2);
+
+        assertThat(ids).containsExactly(dated.getId(), undatedA.getId(), undatedB.getId(), undatedC.getId());
+    }
+
+    @Test
+    void priorityTiesAreBrokenByIdAndMissingPriorityComesLast() {
+        Task none = create(DAY, null);
+        Task lowA = create(DAY, Task.Priority.LOW);
+        Task highA = create(DAY, Task.Priority.HIGH);
+        Task medium = create(null, Task.Priority.MEDIUM);
+        Task highB = create(null, Task.Priority.HIGH);
+        Task lowB = create(DAY, Task.Priority.LOW);
+
+        List<Long> ids = walk(null, TaskPage.Sort.PRIORITY, 2);
+
+        assertThat(ids).containsExactly(highA.getId(), highB.getId(), medium.getId(), lowA.getId(), lowB.getId(), none.getId());
+    }
+
+    @Test
+    void everyPageSizeVisitsEachTaskOnce() {
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            LocalDate due = i % 5 == 0 ? null : DAY.plusDays(i % 3);
+            Task.Priority priority = i % 4 == 0 ? null : Task.Priority.values()[i % 3];
+            created.add(create(due, priority).getId());
+        }
+
+        for (TaskPage.Sort sort : TaskPage.Sort.values()) {
+            List<Long> reference = walk(null, sort, 100);
+            assertThat(reference).containsExactlyInAnyOrderElementsOf(created);
+            for (int size = 1; size <= 24; size++) {
+                assertThat(walk(null, sort, size)).as("%s, page size %d", sort, size).isEqualTo(reference);
+            }
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursorEvenWhenExactlyFull() {
+        create(DAY, Task.Priority.LOW);
+        create(DAY, Task.Priority.LOW);
+
+        TaskPage exact = taskService.getTaskPage(user, null, TaskPage.Sort.DUE_DATE, null, 2);
+        TaskPage first = taskService.getTaskPage(user, null, TaskPage.Sort.DUE_DATE, null, 1);
+        TaskPage second = taskService.getTaskPage(user, null, TaskPage.Sort.DUE_DATE, first.getNextCursor(), 1);
+
+        assertThat(exact.getItems()).hasSize(2);
+        assertThat(exact.getNextCursor()).isNull();
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(second.getItems()).hasSize(1);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void emptyListIsASingleLastPage() {
+        TaskPage page = taskService.getTaskPage(user, null, TaskPage.Sort.PRIORITY, null, 10);
+
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void completedFilterAppliesOnEveryPage() {
+        Task open = create(DAY, Task.Priority.HIGH);
+        Task doneA = create(DAY, Task.Priority.HIGH);
+        Task doneB = create(null, null);
+        taskService.completeTask(doneA.getId(), user);
+        taskService.completeTask(doneB.getId(), user);
+
+        List<Long> completed = walk(true, TaskPage.Sort.PRIORITY, 1);
+        List<Long> pending = walk(false, TaskPage.Sort.PRIORITY, 1);
+
+        assertThat(completed).containsExactly(doneA.getId(), doneB.getId());
+        assertThat(pending).containsExactly(open.getId());
+    }
+
+    @Test
+    void cursorEncodesSortKeyAndId() {
+        create(DAY, Task.Priority.MEDIUM);
+        Task last = create(DAY.plusDays(2), null);
+        create(null, Task.Priority.LOW);
+
+        String byDueDate = taskService.getTaskPage(user, null, TaskPage.Sort.DUE_DATE, null, 2).getNextCursor();
+        String byPriority = taskService.getTaskPage(user, null, TaskPage.Sort.PRIORITY, null, 2).getNextCursor();
+
+        assertThat(decode(byDueDate)).isEqualTo("DUE_DATE|" + DAY.plusDays(2) + "|" + last.getId());
+        assertThat(decode(byPriority)).startsWith("PRIORITY|LOW|");
+        assertThat(byDueDate).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void cursorFromAnotherOrderingIsRejected() {
+        create(DAY, Task.Priority.HIGH);
+        create(DAY, Task.Priority.LOW);
+        String cursor = taskService.getTaskPage(user, null, TaskPage.Sort.DUE_DATE, null, 1).getNextCursor();
+
+        assertThatThrownBy(() -> taskService.getTaskPage(user, null, TaskPage.Sort.PRIORITY, cursor, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String[] cursors = {
+                "not base64!",
+                encode("DUE_DATE|2026-03-01"),
+                encode("DUE_DATE|2026-13-01|5"),
+                encode("PRIORITY|URGENT|5"),
+                encode("DUE_DATE|2026-03-01|five"),
+                encode("NEWEST||5") };
+
+        for (String cursor : cursors) {
+            assertThatThrownBy(() -> taskService.getTaskPage(user, null, TaskPage.Sort.DUE_DATE, cursor, 10))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    // Follows cursors from the first page to the last and returns the ids in the order served
+    private List<Long> walk(Boolean completed, TaskPage.Sort sort, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = taskService.getTaskPage(user, completed, sort, cursor, size);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(size);
+            page.getItems().stream().map(TaskSummary::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Task create(LocalDate dueDate, Task.Priority priority) {
+        return taskService.createTask(new Task("task", dueDate, priority, user));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskReminder;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Due and overdue reminders driven by TaskService writes and the rebuild, with the wheel advanced
+ * by hand. The wheel only moves forward, so each test works on days after the previous test's.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-reminders",
+        "tasks.reminders.zone=UTC",
+        "tasks.reminders.tick=1m" })
+class TaskReminderTest {
+
+    private static final AtomicInteger DAY_OFFSET = new AtomicInteger();
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskReminderService reminders;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CollectingSink sink;
+
+    private User user;
+    private LocalDate day;
+
+    @BeforeEach
+    void createUser() {
+        String username = "reminders-" + System.nanoTime();
+        user = userService.registerUser(username, "secret", username + "@example.com");
+        day = LocalDate.now(ZoneOffset.UTC).plusDays(DAY_OFFSET.addAndGet(10));
+    }
+
+    @Test
+    void dueThenOverdueForAPendingTask() {
+        Task task = create("pay rent", day);
+
+        advanceTo(day);
+        assertThat(remindersFor(task)).containsExactly(new TaskReminder(TaskReminder.Type.DUE, user.getId(), task.getId(), day));
+
+        advanceTo(day.plusDays(1));
+        assertThat(remindersFor(task)).extracting(TaskReminder::type)
+                .containsExactly(TaskReminder.Type.DUE, TaskReminder.Type.OVERDUE);
+    }
+
+    @Test
+    void completedAndDeletedTasksAreNotReminded() {
+        Task completed = create("done early", day);
+        Task deleted = create("dropped", day);
+
+        taskService.completeTask(completed.getId(), user);
+        taskService.deleteTask(deleted.getId(), user);
+        advanceTo(day.plusDays(1));
+
+        assertThat(remindersFor(completed)).isEmpty();
+        assertThat(remindersFor(deleted)).isEmpty();
+    }
+
+    @Test
+    void movingTheDueDateMovesTheReminder() {
+        Task task = create("postponed", day);
+
+        taskService.updateTask(task.getId(), user, new Task("postponed", day.plusDays(3), null, user));
+        advanceTo(day.plusDays(2));
+        assertThat(remindersFor(task)).isEmpty();
+
+        advanceTo(day.plusDays(3));
+        assertThat(remindersFor(task)).extracting(TaskReminder::dueDate).containsExactly(day.plusDays(3));
+    }
+
+    @Test
+    void rebuildSchedulesTasksWrittenOutsideTaskService() {
+        Task task = taskRepository.save(new Task("bulk loaded", day, Task.Priority.LOW, user));
+
+        reminders.rebuild();
+        advanceTo(day);
+
+        assertThat(remindersFor(task)).extracting(TaskReminder::type).containsExactly(TaskReminder.Type.DUE);
+    }
+
+    private Task create(String title, LocalDate dueDate) {
+        return taskService.createTask(new Task(title, dueDate, Task.Priority.MEDIUM, user));
+    }
+
+    private void advanceTo(LocalDate date) {
+        reminders.advanceTo(date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+    }
+
+    private List<TaskReminder> remindersFor(Task task) {
+        return sink.reminders.stream().filter(reminder -> reminder.taskId().equals(task.getId())).toList();
+    }
+
+    static class CollectingSink implements TaskReminderSink {
+        final List<TaskReminder> reminders = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void remind(TaskReminder reminder) {
+            reminders.add(reminder);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        CollectingSink collectingSink() {
+            return new CollectingSink();
+        }
+    }
+}
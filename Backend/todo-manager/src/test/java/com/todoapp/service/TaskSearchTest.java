@@ -0,0 +1,117 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskImport;
+import com.todoapp.dto.TaskPage;
+import com.todoapp.dto.TaskSearch;
+import com.todoapp.dto.TaskSummary;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** {@link TaskService#searchTasks}: typed predicates, title words, ordering and limits, and index upkeep on every write. */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-search")
+class TaskSearchTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String username = "searcher-" + System.nanoTime();
+        user = userService.registerUser(username, "secret", username + "@example.com");
+    }
+
+    @Test
+    void combinesTitleWordsWithTypedPredicates() {
+        create("Write quarterly report", LocalDate.of(2026, 3, 1), Task.Priority.HIGH);
+        create("Review report draft", LocalDate.of(2026, 5, 1), Task.Priority.HIGH);
+        create("Report bug in parser", LocalDate.of(2026, 3, 15), Task.Priority.LOW);
+        create("Buy groceries", LocalDate.of(2026, 3, 2), Task.Priority.HIGH);
+
+        assertThat(titles(search("REP", null, null, null), TaskPage.Sort.DUE_DATE))
+                .containsExactly("Write quarterly report", "Report bug in parser", "Review report draft");
+        assertThat(titles(search("report", Task.Priority.HIGH, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)), TaskPage.Sort.DUE_DATE))
+                .containsExactly("Write quarterly report");
+        assertThat(titles(search("report draft", null, null, null), TaskPage.Sort.DUE_DATE))
+                .containsExactly("Review report draft");
+        assertThat(titles(search(null, null, LocalDate.of(2026, 3, 2), null), TaskPage.Sort.PRIORITY))
+                .containsExactly("Review report draft", "Buy groceries", "Report bug in parser");
+    }
+
+    @Test
+    void indexFollowsEveryWrite() {
+        Task renamed = create("Call plumber", null, Task.Priority.MEDIUM);
+        Task removed = create("Call dentist", null, Task.Priority.MEDIUM);
+        assertThat(titles(search("call", null, null, null), TaskPage.Sort.DUE_DATE)).hasSize(2);
+
+        taskService.updateTask(renamed.getId(), user, new Task("Email plumber", null, Task.Priority.MEDIUM, user));
+        taskService.deleteTask(removed.getId(), user);
+        create("Call electrician", null, Task.Priority.LOW);
+
+        assertThat(titles(search("call", null, null, null), TaskPage.Sort.DUE_DATE)).containsExactly("Call electrician");
+        assertThat(titles(search("plumb", null, null, null), TaskPage.Sort.DUE_DATE)).containsExactly("Email plumber");
+    }
+
+    @Test
+    void textWithoutWordsIsNoTextFilter() {
+        create("Pay rent", LocalDate.of(2026, 4, 1), Task.Priority.HIGH);
+        create("Walk dog", LocalDate.of(2026, 4, 2), Task.Priority.LOW);
+
+        assertThat(titles(search("?!-", null, null, null), TaskPage.Sort.DUE_DATE)).containsExactly("Pay rent", "Walk dog");
+        assertThat(titles(search("  ", Task.Priority.LOW, null, null), TaskPage.Sort.DUE_DATE)).containsExactly("Walk dog");
+    }
+
+    @Test
+    void searchIsScopedToTheUser() {
+        create("shared word", null, null);
+        User other = userService.registerUser("other-" + System.nanoTime(), "secret", "other-" + System.nanoTime() + "@example.com");
+        taskService.createTask(new Task("shared word too", null, null, other));
+
+        assertThat(titles(search("shared", null, null, null), TaskPage.Sort.DUE_DATE)).containsExactly("shared word");
+    }
+
+    @Test
+    void moreCandidatesThanOneIdListAreReadInOrderUpToTheLimit() {
+        List<TaskImport> lines = new ArrayList<>();
+        for (int i = 0; i < TaskService.MAX_SEARCH_IDS + 10; i++) lines.add(new TaskImport("bulk item " + i, null, Task.Priority.LOW, false));
+        for (int from = 0; from < lines.size(); from += TaskService.MAX_BATCH_SIZE) {
+            taskService.importTasks(user, lines.subList(from, Math.min(from + TaskService.MAX_BATCH_SIZE, lines.size())));
+        }
+        create("bulk dated", LocalDate.of(2026, 1, 2), Task.Priority.LOW);
+        create("bulk early", LocalDate.of(2026, 1, 1), Task.Priority.HIGH);
+        create("unrelated", LocalDate.of(2025, 1, 1), Task.Priority.HIGH);
+
+        assertThat(taskService.searchTasks(user, search("bulk", null, null, null), TaskPage.Sort.DUE_DATE, 3))
+                .extracting(TaskSummary::getTitle).containsExactly("bulk early", "bulk dated", "bulk item 0");
+        assertThat(taskService.searchTasks(user, search("bulk", null, null, null), TaskPage.Sort.PRIORITY, 3))
+                .extracting(TaskSummary::getTitle).containsExactly("bulk early", "bulk item 0", "bulk item 1");
+        assertThat(taskService.searchTasks(user, search("bulk", Task.Priority.LOW, LocalDate.of(2026, 1, 1), null), TaskPage.Sort.DUE_DATE, 3))
+                .extracting(TaskSummary::getTitle).containsExactly("bulk dated");
+    }
+
+    private TaskSearch search(String text, Task.Priority priority, LocalDate dueFrom, LocalDate dueTo) {
+        return new TaskSearch(text, priority, dueFrom, dueTo, null);
+    }
+
+    private List<String> titles(TaskSearch search, TaskPage.Sort sort) {
+        return taskService.searchTasks(user, search, sort, 100).stream().map(TaskSummary::getTitle).toList();
+    }
+
+    private Task create(String title, LocalDate dueDate, Task.Priority priority) {
+        return taskService.createTask(new Task(title, dueDate, priority, user));
+    }
+}
@@ -0,0 +1,84 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskOperation;
+import com.todoapp.dto.TaskStats;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Per-user counters behind {@code /api/tasks/stats}: incremental upkeep, recounts and the overdue rollover. */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-stats")
+class TaskStatsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStats;
+
+    @Autowired
+    private UserService userService;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String username = "stats-" + System.nanoTime();
+        user = userService.registerUser(username, "secret", username + "@example.com");
+    }
+
+    @Test
+    void countersFollowEveryWritePath() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        Task late = create("late", yesterday, Task.Priority.HIGH);
+        Task edited = create("edited", null, Task.Priority.LOW);
+        Task removed = create("removed", null, null);
+
+        taskService.updateTask(edited.getId(), user, new Task("edited", yesterday, Task.Priority.MEDIUM, user));
+        taskService.completeTask(late.getId(), user);
+        taskService.deleteTask(removed.getId(), user);
+
+        TaskOperation create = new TaskOperation();
+        create.setOp(TaskOperation.Type.CREATE);
+        create.setTitle("batched");
+        create.setPriority(Task.Priority.HIGH);
+        taskService.applyBatch(user, List.of(create));
+
+        TaskStats stats = taskService.getStats(user);
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getCompleted()).isEqualTo(1);
+        assertThat(stats.getPending()).isEqualTo(2);
+        assertThat(stats.getOverdue()).isEqualTo(1);
+        assertThat(stats.getHighPriority()).isEqualTo(2);
+        assertThat(stats.getMediumPriority()).isEqualTo(1);
+        assertThat(stats.getLowPriority()).isZero();
+        assertThat(stats.getNoPriority()).isZero();
+
+        // A full recount from the database agrees with the incremental counters
+        taskStats.rollover(LocalDate.now());
+        assertThat(taskService.getStats(user)).usingRecursiveComparison().isEqualTo(stats);
+    }
+
+    @Test
+    void rolloverMovesTasksDueTodayIntoOverdue() {
+        create("due today", LocalDate.now(), Task.Priority.LOW);
+        assertThat(taskService.getStats(user).getOverdue()).isZero();
+
+        taskStats.rollover(LocalDate.now().plusDays(1));
+        assertThat(taskService.getStats(user).getOverdue()).isEqualTo(1);
+
+        taskStats.rollover(LocalDate.now());
+    }
+
+    private Task create(String title, LocalDate dueDate, Task.Priority priority) {
+        return taskService.createTask(new Task(title, dueDate, priority, user));
+    }
+}
@@ -0,0 +1,198 @@
+package com.todoapp.service;
+
+import com.todoapp.dto.TaskOperation;
+import com.todoapp.dto.TaskOperationResult;
+import com.todoapp.entity.Task;
+import com.todoapp.entity.User;
+import com.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Completions acknowledged from the write-behind overlay: logged only once the request commits,
+ * visible in the task lists before the flush writes them, replayed from the log after a crash, and kept when a flush fails without
+ * undoing the caller's changes. Flushes are run by hand.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-write-behind;LOCK_TIMEOUT=500",
+        "tasks.write-behind.enabled=true",
+        "tasks.write-behind.flush-interval=1h" })
+class TaskWriteBehindTest {
+
+    @TempDir
+    static Path logDir;
+
+    @DynamicPropertySource
+    static void logDir(DynamicPropertyRegistry registry) {
+        registry.add("tasks.write-behind.log-dir", logDir::toString);
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskWriteBehind writeBehind;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String username = "write-behind-" + System.nanoTime();
+        user = userService.registerUser(username, "secret", username + "@example.com");
+    }
+
+    @Test
+    void completionIsSeenBeforeItIsFlushed() {
+        Task task = create("tick me");
+        long version = stored(task).getVersion();
+
+        assertThat(taskService.completeTask(task.getId(), user).getTask().isCompleted()).isTrue();
+
+        assertThat(stored(task).isCompleted()).isFalse();
+        assertThat(taskService.getCompletedTasksForUser(user)).extracting(Task::getId).containsExactly(task.getId());
+        assertThat(taskService.getPendingTasksForUser(user)).isEmpty();
+        assertThat(taskService.getAllTasksForUser(user)).extracting(Task::isCompleted).containsExactly(true);
+
+        writeBehind.flush();
+
+        assertThat(stored(task).isCompleted()).isTrue();
+        assertThat(stored(task).getVersion()).isGreaterThan(version);
+        assertThat(writeBehind.pending(user.getId())).isEmpty();
+    }
+
+    @Test
+    void rolledBackCompletionIsNotLogged() {
+        Task task = create("rolled back");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            taskService.completeTask(task.getId(), user);
+            status.setRollbackOnly();
+        });
+
+        assertThat(writeBehind.pending(user.getId())).isEmpty();
+        assertThat(taskService.getPendingTasksForUser(user)).extracting(Task::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    void completionOfATaskDeletedBeforeTheFlushIsDropped() {
+        Task task = create("gone");
+        taskService.completeTask(task.getId(), user);
+        taskService.deleteTask(task.getId(), user);
+
+        writeBehind.flush();
+
+        assertThat(stored(task).isDeleted()).isTrue();
+        assertThat(stored(task).isCompleted()).isFalse();
+        assertThat(writeBehind.pending(user.getId())).isEmpty();
+    }
+
+    @Test
+    void loggedCompletionsAreReplayedAfterACrash(@TempDir Path crashed) throws Exception {
+        Task task = create("survives a crash");
+        // The second line was torn by the crash and never acknowledged
+        Files.writeString(crashed.resolve("completions-7.log"),
+                "41 " + user.getId() + " " + task.getId() + " 1\n42 " + user.getId() + " 99");
+
+        TaskWriteBehind restarted = new TaskWriteBehind(context.getBeanProvider(TaskService.class), true,
+                crashed.toString(), false, Duration.ofHours(1), TaskService.MAX_BATCH_SIZE, 100_000);
+        try {
+            restarted.recover();
+            assertThat(restarted.getPendingCount()).isEqualTo(1);
+
+            restarted.flush();
+        } finally {
+            restarted.shutdown();
+        }
+
+        assertThat(stored(task).isCompleted()).isTrue();
+        try (Stream<Path> files = Files.list(crashed)) {
+            assertThat(files.map(file -> file.getFileName().toString())).containsExactly("completions-9.log");
+        }
+    }
+
+    @Test
+    void failedFlushBeforeABatchLeavesTheBatchCommitted() throws Exception {
+        Task toggled = create("locked elsewhere");
+        taskService.completeTask(toggled.getId(), user);
+
+        // Another transaction holds the toggled row until the batch is done, so the flush times out on it
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbc.update("update tasks set title = title where id = ?", toggled.getId());
+            locked.countDown();
+            await(release);
+        }));
+        holder.start();
+        List<TaskOperationResult> results;
+        try {
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+            TaskOperation create = new TaskOperation();
+            create.setOp(TaskOperation.Type.CREATE);
+            create.setTitle("added by the batch");
+            results = taskService.applyBatch(user, List.of(create));
+        } finally {
+            release.countDown();
+            holder.join(5_000);
+        }
+
+        assertThat(results).singleElement().satisfies(result -> assertThat(result.getStatus()).isEqualTo(200));
+        assertThat(stored(toggled).isCompleted()).isFalse();
+        assertThat(writeBehind.pending(user.getId())).hasSize(1);
+        assertThat(taskService.getAllTasksForUser(user)).extracting(Task::getTitle)
+                .containsExactly("locked elsewhere", "added by the batch");
+
+        writeBehind.flush();
+        assertThat(stored(toggled).isCompleted()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Task create(String title) {
+        return taskService.createTask(new Task(title, null, Task.Priority.MEDIUM, user));
+    }
+
+    private Task stored(Task task) {
+        return taskRepository.findById(task.getId()).orElseThrow();
+    }
+}
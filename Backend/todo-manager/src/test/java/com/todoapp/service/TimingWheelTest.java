@@ -0,0 +1,82 @@
+package com.todoapp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Expiry, rescheduling and cancellation in the reminder timing wheel, across its levels. */
+class TimingWheelTest {
+
+    @Test
+    void everyEntryExpiresOnItsOwnTick() {
+        long start = 1_000_003;
+        TimingWheel wheel = new TimingWheel(start, 16);
+        Random random = new Random(42);
+        Map<Long, Long> expected = new HashMap<>();
+        // Delays reach into the fourth level (64^3 ticks) and the index has to grow along the way
+        for (long key = 1; key <= 20_000; key++) {
+            long deadline = start + 1 + random.nextInt(400_000);
+            wheel.schedule(key, key * 10, (int) key, deadline);
+            expected.put(key, deadline);
+        }
+        for (long key = 1; key <= 20_000; key += 3) {
+            wheel.cancel(key);
+            expected.remove(key);
+        }
+
+        Map<Long, Long> expired = new HashMap<>();
+        wheel.advance(start + 400_001, (key, owner, tag) -> {
+            assertThat(owner).isEqualTo(key * 10);
+            assertThat(tag).isEqualTo((int) key);
+            assertThat(expired.put(key, wheel.now())).isNull();
+        });
+
+        assertThat(expired).isEqualTo(expected);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reschedulingMovesTheEntryAndCancellingRemovesIt() {
+        TimingWheel wheel = new TimingWheel(0, 16);
+        wheel.schedule(1, 0, 0, 5_000);
+        wheel.schedule(2, 0, 0, 70);
+        wheel.schedule(1, 0, 0, 90);
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+
+        List<String> expired = new ArrayList<>();
+        wheel.advance(10_000, (key, owner, tag) -> expired.add(key + "@" + wheel.now()));
+
+        assertThat(expired).containsExactly("1@90");
+    }
+
+    @Test
+    void deadlinesThatHavePassedAreNotKept() {
+        TimingWheel wheel = new TimingWheel(100, 16);
+        assertThat(wheel.schedule(1, 0, 0, 100)).isFalse();
+        assertThat(wheel.schedule(2, 0, 0, 150)).isTrue();
+        assertThat(wheel.schedule(2, 0, 0, 99)).isFalse();
+
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiryMayScheduleAgain() {
+        TimingWheel wheel = new TimingWheel(0, 16);
+        wheel.schedule(7, 0, 0, 10);
+        List<Long> ticks = new ArrayList<>();
+
+        wheel.advance(1_000, (key, owner, tag) -> {
+            ticks.add(wheel.now());
+            if (ticks.size() < 3) wheel.schedule(key, owner, tag, wheel.now() + 100);
+        });
+
+        assertThat(ticks).containsExactly(10L, 110L, 210L);
+    }
+}
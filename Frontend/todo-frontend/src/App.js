@@ -6,6 +6,26 @@ const API_BASE_URL = 'http://localhost:8080/api';
 // Configure axios defaults
 axios.defaults.baseURL = API_BASE_URL;
 
+// Access tokens are short-lived: on a 401, trade the stored refresh token for a new pair and retry once
+let refreshing = null;
+axios.interceptors.response.use(undefined, async (error) => {
+  const original = error.config;
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (error.response?.status !== 401 || !refreshToken || original._retried || original.url.startsWith('/auth/')) {
+    return Promise.reject(error);
+  }
+  original._retried = true;
+
+  // Concurrent 401s share one refresh, since each refresh token can only be used once
+  refreshing = refreshing || axios.post('/auth/refresh', { refreshToken }).finally(() => { refreshing = null; });
+  const { data } = await refreshing;
+  localStorage.setItem('token', data.token);
+  localStorage.setItem('refreshToken', data.refreshToken);
+  axios.defaults.headers.common['Authorization'] = `Bearer ${data.token}`;
+  original.headers['Authorization'] = `Bearer ${data.token}`;
+  return axios(original);
+});
+
 const TodoApp = () => {
   const [user, setUser] = useState(null);
   const [tasks, setTasks] = useState([]);
@@ -73,9 +93,10 @@ const TodoApp = () => {
     
     try {
       const response = await axios.post('/auth/login', loginForm);
-      const { token, username } = response.data;
+      const { token, refreshToken, username } = response.data;
       
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('username', username);
       setUser({ username, token });
       setAuthToken(token);
@@ -93,9 +114,10 @@ const TodoApp = () => {
     
     try {
       const response = await axios.post('/auth/register', registerForm);
-      const { token, username } = response.data;
+      const { token, refreshToken, username } = response.data;
       
       localStorage.setItem('token', token);
+      localStorage.setItem('refreshToken', refreshToken);
       localStorage.setItem('username', username);
       setUser({ username, token });
       setAuthToken(token);
@@ -108,7 +130,12 @@ const TodoApp = () => {
   };
 
   const handleLogout = () => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      axios.post('/auth/logout', { refreshToken }).catch(() => {});
+    }
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('username');
     setUser(null);
     setTasks([]);